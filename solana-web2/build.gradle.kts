@@ -0,0 +1,4 @@
+testModuleInfo {
+  requires("org.junit.jupiter.api")
+  runtimeOnly("org.junit.jupiter.engine")
+}
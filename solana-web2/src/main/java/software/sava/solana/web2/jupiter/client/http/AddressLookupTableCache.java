@@ -0,0 +1,89 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.lookup.AddressLookupTable;
+import software.sava.core.tx.Transaction;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterSwapInstructions;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public interface AddressLookupTableCache extends Function<PublicKey, CompletableFuture<AddressLookupTable>> {
+
+  int DEFAULT_MAX_ENTRIES = 1_024;
+  Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+  static AddressLookupTableCache createCache(final Function<PublicKey, CompletableFuture<AddressLookupTable>> loader,
+                                             final int maxEntries,
+                                             final Duration timeToLive) {
+    return new AddressLookupTableLRUCache(loader, maxEntries, timeToLive);
+  }
+
+  static AddressLookupTableCache createCache(final Function<PublicKey, CompletableFuture<AddressLookupTable>> loader,
+                                             final int maxEntries) {
+    return createCache(loader, maxEntries, DEFAULT_TIME_TO_LIVE);
+  }
+
+  static AddressLookupTableCache createCache(final Function<PublicKey, CompletableFuture<AddressLookupTable>> loader) {
+    return createCache(loader, DEFAULT_MAX_ENTRIES);
+  }
+
+  static AddressLookupTableCache createCache(final SolanaRpcClient rpcClient,
+                                             final int maxEntries,
+                                             final Duration timeToLive) {
+    return createCache(
+        address -> rpcClient.getAccountInfo(address, AddressLookupTable.FACTORY)
+            .thenApply(accountInfo -> accountInfo == null ? null : accountInfo.data()),
+        maxEntries,
+        timeToLive
+    );
+  }
+
+  static AddressLookupTableCache createCache(final SolanaRpcClient rpcClient, final int maxEntries) {
+    return createCache(rpcClient, maxEntries, DEFAULT_TIME_TO_LIVE);
+  }
+
+  static AddressLookupTableCache createCache(final SolanaRpcClient rpcClient) {
+    return createCache(rpcClient, DEFAULT_MAX_ENTRIES);
+  }
+
+  @Override
+  default CompletableFuture<AddressLookupTable> apply(final PublicKey address) {
+    return get(address);
+  }
+
+  AddressLookupTable getIfPresent(final PublicKey address);
+
+  CompletableFuture<AddressLookupTable> get(final PublicKey address);
+
+  CompletableFuture<AddressLookupTable[]> get(final List<PublicKey> addresses);
+
+  void put(final AddressLookupTable lookupTable);
+
+  CompletableFuture<Void> prefetch(final Collection<PublicKey> addresses);
+
+  CompletableFuture<Void> prefetchMarkets(final Collection<MarketRecord> markets);
+
+  default CompletableFuture<Transaction> serializeTransaction(final JupiterSwapInstructions swapInstructions) {
+    return get(swapInstructions.addressLookupTableAddresses()).thenApply(swapInstructions::serializeTransaction);
+  }
+
+  Transaction serializeTransactionIfCached(final JupiterSwapInstructions swapInstructions);
+
+  void invalidate(final PublicKey address);
+
+  void invalidateAll();
+
+  long hits();
+
+  long misses();
+
+  long evictions();
+
+  int size();
+}
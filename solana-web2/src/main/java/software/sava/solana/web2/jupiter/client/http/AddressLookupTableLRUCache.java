@@ -0,0 +1,261 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.lookup.AddressLookupTable;
+import software.sava.core.tx.Transaction;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterSwapInstructions;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+final class AddressLookupTableLRUCache implements AddressLookupTableCache {
+
+  private static final AddressLookupTable[] NO_TABLES = new AddressLookupTable[0];
+
+  private final Function<PublicKey, CompletableFuture<AddressLookupTable>> loader;
+  private final long timeToLiveNanos;
+  private final ReentrantLock lock;
+  private final LinkedHashMap<PublicKey, Entry> cache;
+  private final ConcurrentHashMap<PublicKey, CompletableFuture<AddressLookupTable>> inFlight;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+
+  AddressLookupTableLRUCache(final Function<PublicKey, CompletableFuture<AddressLookupTable>> loader,
+                             final int maxEntries,
+                             final Duration timeToLive) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    }
+    this.loader = loader;
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.lock = new ReentrantLock();
+    this.inFlight = new ConcurrentHashMap<>();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.evictions = new LongAdder();
+    this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1_024), 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<PublicKey, Entry> eldest) {
+        if (size() > maxEntries) {
+          evictions.increment();
+          return true;
+        } else {
+          return false;
+        }
+      }
+    };
+  }
+
+  // Tables can be extended or deactivated on chain, so entries are only trusted for a bounded time.
+  private record Entry(AddressLookupTable lookupTable, long expiresAt) {
+  }
+
+  private AddressLookupTable lookup(final PublicKey address) {
+    lock.lock();
+    try {
+      final var entry = cache.get(address);
+      if (entry == null) {
+        return null;
+      } else if (System.nanoTime() - entry.expiresAt < 0) {
+        return entry.lookupTable;
+      } else {
+        cache.remove(address);
+        evictions.increment();
+        return null;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void putEntry(final AddressLookupTable lookupTable) {
+    cache.put(lookupTable.address(), new Entry(lookupTable, System.nanoTime() + timeToLiveNanos));
+  }
+
+  @Override
+  public AddressLookupTable getIfPresent(final PublicKey address) {
+    final var lookupTable = lookup(address);
+    if (lookupTable == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return lookupTable;
+  }
+
+  @Override
+  public CompletableFuture<AddressLookupTable> get(final PublicKey address) {
+    final var lookupTable = getIfPresent(address);
+    return lookupTable == null ? load(address) : CompletableFuture.completedFuture(lookupTable);
+  }
+
+  private CompletableFuture<AddressLookupTable> load(final PublicKey address) {
+    final var shared = new CompletableFuture<AddressLookupTable>();
+    final var existing = inFlight.putIfAbsent(address, shared);
+    if (existing != null) {
+      return existing.copy();
+    }
+    try {
+      loader.apply(address).whenComplete((lookupTable, throwable) -> {
+        if (throwable != null) {
+          inFlight.remove(address, shared);
+          shared.completeExceptionally(throwable);
+        } else if (lookupTable == null) {
+          inFlight.remove(address, shared);
+          shared.completeExceptionally(new IllegalStateException("Address lookup table not found: " + address));
+        } else {
+          // The in-flight registration acts as the load's generation, an invalidate clears it
+          // so that a load started before the invalidation cannot re-insert a stale table.
+          lock.lock();
+          try {
+            if (inFlight.remove(address, shared)) {
+              putEntry(lookupTable);
+            }
+          } finally {
+            lock.unlock();
+          }
+          shared.complete(lookupTable);
+        }
+      });
+    } catch (final RuntimeException ex) {
+      inFlight.remove(address, shared);
+      shared.completeExceptionally(ex);
+    }
+    return shared.copy();
+  }
+
+  @Override
+  public CompletableFuture<AddressLookupTable[]> get(final List<PublicKey> addresses) {
+    final int numTables = addresses.size();
+    if (numTables == 0) {
+      return CompletableFuture.completedFuture(NO_TABLES);
+    }
+    final var tables = new AddressLookupTable[numTables];
+    List<CompletableFuture<Void>> loads = null;
+    for (int i = 0; i < numTables; ++i) {
+      final var address = addresses.get(i);
+      final var lookupTable = getIfPresent(address);
+      if (lookupTable == null) {
+        if (loads == null) {
+          loads = new ArrayList<>(numTables - i);
+        }
+        final int index = i;
+        loads.add(load(address).thenAccept(loaded -> tables[index] = loaded));
+      } else {
+        tables[i] = lookupTable;
+      }
+    }
+    return loads == null
+        ? CompletableFuture.completedFuture(tables)
+        : CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).thenApply(ignored -> tables);
+  }
+
+  @Override
+  public void put(final AddressLookupTable lookupTable) {
+    if (lookupTable == null) {
+      throw new IllegalArgumentException("lookupTable must not be null.");
+    }
+    lock.lock();
+    try {
+      putEntry(lookupTable);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> prefetch(final Collection<PublicKey> addresses) {
+    final var loads = addresses.stream()
+        .distinct()
+        .filter(address -> lookup(address) == null)
+        .map(this::load)
+        .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(loads);
+  }
+
+  @Override
+  public CompletableFuture<Void> prefetchMarkets(final Collection<MarketRecord> markets) {
+    final var addresses = new HashSet<PublicKey>();
+    for (final var market : markets) {
+      final var tableAddress = market.addressLookupTableAddress();
+      if (tableAddress != null && !tableAddress.isBlank()) {
+        addresses.add(PublicKey.fromBase58Encoded(tableAddress));
+      }
+    }
+    return prefetch(addresses);
+  }
+
+  @Override
+  public Transaction serializeTransactionIfCached(final JupiterSwapInstructions swapInstructions) {
+    final var addresses = swapInstructions.addressLookupTableAddresses();
+    final int numTables = addresses == null ? 0 : addresses.size();
+    final var tables = new AddressLookupTable[numTables];
+    for (int i = 0; i < numTables; ++i) {
+      final var lookupTable = getIfPresent(addresses.get(i));
+      if (lookupTable == null) {
+        return null;
+      }
+      tables[i] = lookupTable;
+    }
+    return swapInstructions.serializeTransaction(tables);
+  }
+
+  @Override
+  public void invalidate(final PublicKey address) {
+    lock.lock();
+    try {
+      cache.remove(address);
+      inFlight.remove(address);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    lock.lock();
+    try {
+      cache.clear();
+      inFlight.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long hits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return cache.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
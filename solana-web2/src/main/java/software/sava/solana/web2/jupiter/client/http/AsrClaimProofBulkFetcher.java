@@ -0,0 +1,259 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimAsrProof;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+final class AsrClaimProofBulkFetcher implements JupiterAsrClaimFetcher {
+
+  private final JupiterClient jupiterClient;
+  private final AsrClaimProofStore store;
+  private final Function<PublicKey, CompletableFuture<byte[]>> merkleRootLoader;
+  private final ExecutorService verifyExecutor;
+  private final int maxConcurrency;
+  private final ConcurrentHashMap<PublicKey, CompletableFuture<byte[]>> merkleRoots;
+  private final LongAdder requestsSent;
+  private final LongAdder cacheHits;
+  private final LongAdder invalidProofs;
+
+  AsrClaimProofBulkFetcher(final JupiterClient jupiterClient,
+                           final AsrClaimProofStore store,
+                           final Function<PublicKey, CompletableFuture<byte[]>> merkleRootLoader,
+                           final ExecutorService verifyExecutor,
+                           final int maxConcurrency) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    this.jupiterClient = jupiterClient;
+    this.store = store;
+    this.merkleRootLoader = merkleRootLoader;
+    this.verifyExecutor = verifyExecutor;
+    this.maxConcurrency = maxConcurrency;
+    this.merkleRoots = new ConcurrentHashMap<>();
+    this.requestsSent = new LongAdder();
+    this.cacheHits = new LongAdder();
+    this.invalidProofs = new LongAdder();
+  }
+
+  private CompletableFuture<byte[]> merkleRoot(final PublicKey merkleTree) {
+    // Distributor roots are immutable, so they are loaded once and shared by every account claiming from it.
+    final var cached = merkleRoots.get(merkleTree);
+    if (cached != null) {
+      return cached;
+    }
+    final var future = new CompletableFuture<byte[]>();
+    final var existing = merkleRoots.putIfAbsent(merkleTree, future);
+    if (existing != null) {
+      return existing;
+    }
+    merkleRootLoader.apply(merkleTree).whenComplete((root, throwable) -> {
+      if (throwable != null) {
+        merkleRoots.remove(merkleTree, future);
+        future.completeExceptionally(throwable);
+      } else {
+        future.complete(root);
+      }
+    });
+    return future;
+  }
+
+  @Override
+  public CompletableFuture<Boolean> verify(final PublicKey account, final ClaimAsrProof claimAsrProof) {
+    final var claims = claimAsrProof.claimProof();
+    if (claims == null || claims.isEmpty()) {
+      return CompletableFuture.completedFuture(Boolean.TRUE);
+    }
+    @SuppressWarnings("unchecked")
+    final CompletableFuture<Boolean>[] verifications = new CompletableFuture[claims.size()];
+    for (int i = 0; i < verifications.length; ++i) {
+      final var claim = claims.get(i);
+      verifications[i] = merkleRoot(claim.merkleTree()).thenApplyAsync(
+          root -> AsrMerkleProofs.verify(account, claim, root),
+          verifyExecutor
+      );
+    }
+    return CompletableFuture.allOf(verifications).thenApply(ignored -> {
+      for (final var verification : verifications) {
+        if (!verification.join()) {
+          return Boolean.FALSE;
+        }
+      }
+      return Boolean.TRUE;
+    });
+  }
+
+  private final class Batch {
+
+    private final String asrTimeline;
+    private final SequencedCollection<PublicKey> mints;
+    private final Iterator<PublicKey> pending;
+    private final Map<PublicKey, ClaimAsrProof> proofs;
+    private final Set<PublicKey> invalid;
+    private final Map<PublicKey, Throwable> failures;
+    private final AtomicInteger remaining;
+    private final CompletableFuture<AsrClaimProofs> result;
+    private final int cacheHits;
+    private int downloaded;
+
+    private Batch(final Collection<PublicKey> accounts,
+                  final String asrTimeline,
+                  final SequencedCollection<PublicKey> mints) {
+      this.asrTimeline = asrTimeline;
+      this.mints = mints;
+      this.proofs = new ConcurrentHashMap<>();
+      this.invalid = ConcurrentHashMap.newKeySet();
+      this.failures = new ConcurrentHashMap<>();
+      this.result = new CompletableFuture<>();
+
+      final var toFetch = new ArrayList<PublicKey>(accounts.size());
+      final var seen = HashSet.<PublicKey>newHashSet(accounts.size());
+      int cacheHits = 0;
+      for (final var account : accounts) {
+        if (seen.add(account)) {
+          final var cached = store.get(account, asrTimeline, mints);
+          if (cached == null) {
+            toFetch.add(account);
+          } else {
+            proofs.put(account, cached);
+            ++cacheHits;
+          }
+        }
+      }
+      this.cacheHits = cacheHits;
+      this.pending = toFetch.iterator();
+      this.remaining = new AtomicInteger(toFetch.size());
+    }
+
+    private synchronized PublicKey next() {
+      return pending.hasNext() ? pending.next() : null;
+    }
+
+    private void start() {
+      if (remaining.get() == 0) {
+        complete();
+        return;
+      }
+      for (int i = 0; i < maxConcurrency; ++i) {
+        fetchNext();
+      }
+    }
+
+    // Proofs that are already processed, such as synchronous failures or accounts without claims, are
+    // consumed in a loop rather than by recursing from their callbacks, so large batches cannot exhaust the stack.
+    private void fetchNext() {
+      for (; ; ) {
+        final var account = next();
+        if (account == null) {
+          return;
+        }
+        final var processed = fetchAndStore(account);
+        if (processed.isDone()) {
+          if (processed.handle((ignored, throwable) -> onProcessed(account, throwable)).join()) {
+            complete();
+            return;
+          }
+          continue;
+        }
+        processed.whenComplete((ignored, throwable) -> {
+          if (onProcessed(account, throwable)) {
+            complete();
+          } else {
+            fetchNext();
+          }
+        });
+        return;
+      }
+    }
+
+    private CompletableFuture<ClaimAsrProof> fetchAndStore(final PublicKey account) {
+      requestsSent.increment();
+      CompletableFuture<ClaimAsrProof> proofFuture;
+      try {
+        proofFuture = jupiterClient.claimAsrProof(account, asrTimeline, mints);
+      } catch (final RuntimeException ex) {
+        proofFuture = CompletableFuture.failedFuture(ex);
+      }
+      return proofFuture.thenCompose(claimAsrProof -> verify(account, claimAsrProof).thenApply(valid -> {
+        if (valid) {
+          try {
+            store.append(account, asrTimeline, mints, claimAsrProof);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          proofs.put(account, claimAsrProof);
+          synchronized (this) {
+            ++downloaded;
+          }
+        } else {
+          invalidProofs.increment();
+          invalid.add(account);
+        }
+        return claimAsrProof;
+      }));
+    }
+
+    // Returns true once the last account has been processed.
+    private boolean onProcessed(final PublicKey account, final Throwable throwable) {
+      if (throwable != null) {
+        failures.put(account, throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable);
+      }
+      return remaining.decrementAndGet() == 0;
+    }
+
+    private synchronized void complete() {
+      if (downloaded > 0) {
+        try {
+          store.force();
+        } catch (final IOException e) {
+          result.completeExceptionally(new UncheckedIOException(e));
+          return;
+        }
+      }
+      result.complete(new AsrClaimProofs(
+          asrTimeline,
+          Map.copyOf(proofs),
+          Set.copyOf(invalid),
+          Map.copyOf(failures),
+          cacheHits,
+          downloaded
+      ));
+    }
+  }
+
+  @Override
+  public CompletableFuture<AsrClaimProofs> fetchProofs(final Collection<PublicKey> accounts,
+                                                       final String asrTimeline,
+                                                       final SequencedCollection<PublicKey> mints) {
+    final var batch = new Batch(accounts, asrTimeline, mints);
+    cacheHits.add(batch.cacheHits);
+    batch.start();
+    return batch.result;
+  }
+
+  @Override
+  public long requestsSent() {
+    return requestsSent.sum();
+  }
+
+  @Override
+  public long cacheHits() {
+    return cacheHits.sum();
+  }
+
+  @Override
+  public long invalidProofs() {
+    return invalidProofs.sum();
+  }
+}
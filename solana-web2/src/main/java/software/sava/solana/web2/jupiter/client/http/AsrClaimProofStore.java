@@ -0,0 +1,289 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimAsrProof;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimProof;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+public final class AsrClaimProofStore implements AutoCloseable {
+
+  public static final int MAGIC = 0x4A415352;
+  public static final int VERSION = 2;
+
+  private static final int HEADER_LENGTH = Integer.BYTES << 1;
+  private static final int RECORD_HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+  private static final int KEY_LENGTH = PublicKey.PUBLIC_KEY_LENGTH;
+  private static final int NULL_LENGTH = -1;
+
+  private static final Comparator<PublicKey> KEY_ORDER = (a, b) -> Arrays.compareUnsigned(a.toByteArray(), b.toByteArray());
+
+  // Proofs are only valid for the mints they were requested with, so the sorted mint set is part of the key.
+  private record Key(PublicKey account, String asrTimeline, List<PublicKey> mints) {
+  }
+
+  private static List<PublicKey> mintSet(final Collection<PublicKey> mints) {
+    if (mints == null || mints.isEmpty()) {
+      return List.of();
+    }
+    final var sorted = new TreeSet<>(KEY_ORDER);
+    sorted.addAll(mints);
+    return List.copyOf(sorted);
+  }
+
+  private final Path path;
+  private final FileChannel channel;
+  private final ConcurrentHashMap<Key, ClaimAsrProof> proofs;
+  private long appendedBytes;
+
+  private AsrClaimProofStore(final Path path,
+                             final FileChannel channel,
+                             final ConcurrentHashMap<Key, ClaimAsrProof> proofs) {
+    this.path = path;
+    this.channel = channel;
+    this.proofs = proofs;
+  }
+
+  public static AsrClaimProofStore open(final Path path) throws IOException {
+    final var channel = FileChannel.open(path, CREATE, READ, WRITE);
+    try {
+      final long fileLength = channel.size();
+      if (fileLength > Integer.MAX_VALUE) {
+        throw new IllegalStateException(String.format("%s exceeds the maximum store size: %d", path, fileLength));
+      }
+      final var proofs = new ConcurrentHashMap<Key, ClaimAsrProof>();
+      if (fileLength < HEADER_LENGTH) {
+        final var header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .flip();
+        channel.truncate(0);
+        writeFully(channel, header, 0);
+        channel.force(true);
+        return new AsrClaimProofStore(path, channel, proofs);
+      }
+
+      final var buffer = ByteBuffer.allocate((int) fileLength).order(ByteOrder.LITTLE_ENDIAN);
+      while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+      }
+      buffer.flip();
+      final int magic = buffer.getInt();
+      if (magic != MAGIC) {
+        throw new IllegalStateException(String.format("%s is not an ASR claim proof store [magic=%08x].", path, magic));
+      }
+      final int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IllegalStateException(String.format(
+            "%s has an unsupported ASR claim proof store version: %d", path, version
+        ));
+      }
+
+      final var crc = new CRC32();
+      int validLength = HEADER_LENGTH;
+      while (buffer.remaining() >= RECORD_HEADER_LENGTH) {
+        final int recordLength = buffer.getInt();
+        final long checksum = buffer.getLong();
+        if (recordLength <= 0 || recordLength > buffer.remaining()) {
+          break;
+        }
+        final var record = buffer.slice(buffer.position(), recordLength).order(ByteOrder.LITTLE_ENDIAN);
+        crc.reset();
+        crc.update(record.duplicate());
+        if (crc.getValue() != checksum) {
+          break;
+        }
+        final var account = readKey(record);
+        final var asrTimeline = readString(record);
+        final var mints = new PublicKey[record.getInt()];
+        for (int i = 0; i < mints.length; ++i) {
+          mints[i] = readKey(record);
+        }
+        proofs.put(new Key(account, asrTimeline, List.of(mints)), readProof(record));
+        buffer.position(buffer.position() + recordLength);
+        validLength = buffer.position();
+      }
+      // A torn trailing append is discarded so the next append starts on a record boundary.
+      if (validLength < fileLength) {
+        channel.truncate(validLength);
+      }
+      return new AsrClaimProofStore(path, channel, proofs);
+    } catch (final IOException | RuntimeException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static PublicKey readKey(final ByteBuffer buffer) {
+    final byte[] key = new byte[KEY_LENGTH];
+    buffer.get(key);
+    return PublicKey.createPubKey(key);
+  }
+
+  private static String readString(final ByteBuffer buffer) {
+    final byte[] utf8 = new byte[buffer.getShort() & 0xFFFF];
+    buffer.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  private static ClaimAsrProof readProof(final ByteBuffer buffer) {
+    final int voteCount = buffer.getInt();
+    final int voteCountExtra = buffer.getInt();
+    final int numClaims = buffer.getInt();
+    if (numClaims == NULL_LENGTH) {
+      return new ClaimAsrProof(null, voteCount, voteCountExtra);
+    }
+    final var claims = new ArrayList<ClaimProof>(numClaims);
+    for (int i = 0; i < numClaims; ++i) {
+      final var mint = readKey(buffer);
+      final var merkleTree = readKey(buffer);
+      final long amount = buffer.getLong();
+      final long lockedAmount = buffer.getLong();
+      final int proofLength = buffer.getInt();
+      final byte[][] proof;
+      if (proofLength == NULL_LENGTH) {
+        proof = null;
+      } else {
+        proof = new byte[proofLength][AsrMerkleProofs.HASH_LENGTH];
+        for (final byte[] element : proof) {
+          buffer.get(element);
+        }
+      }
+      claims.add(new ClaimProof(mint, merkleTree, amount, lockedAmount, proof));
+    }
+    return new ClaimAsrProof(claims, voteCount, voteCountExtra);
+  }
+
+  private static int recordLength(final byte[] asrTimeline,
+                                  final List<PublicKey> mints,
+                                  final ClaimAsrProof claimAsrProof) {
+    int length = KEY_LENGTH + Short.BYTES + asrTimeline.length
+        + Integer.BYTES + (mints.size() * KEY_LENGTH)
+        + (Integer.BYTES * 3);
+    final var claims = claimAsrProof.claimProof();
+    if (claims != null) {
+      for (final var claim : claims) {
+        length += (KEY_LENGTH << 1) + (Long.BYTES << 1) + Integer.BYTES;
+        final var proof = claim.proof();
+        if (proof != null) {
+          length += proof.length * AsrMerkleProofs.HASH_LENGTH;
+        }
+      }
+    }
+    return length;
+  }
+
+  private static void writeProof(final ByteBuffer buffer, final ClaimAsrProof claimAsrProof) {
+    buffer.putInt(claimAsrProof.voteCount());
+    buffer.putInt(claimAsrProof.voteCountExtra());
+    final var claims = claimAsrProof.claimProof();
+    if (claims == null) {
+      buffer.putInt(NULL_LENGTH);
+      return;
+    }
+    buffer.putInt(claims.size());
+    for (final var claim : claims) {
+      buffer.put(claim.mint().toByteArray());
+      buffer.put(claim.merkleTree().toByteArray());
+      buffer.putLong(claim.amount());
+      buffer.putLong(claim.lockedAmount());
+      final var proof = claim.proof();
+      if (proof == null) {
+        buffer.putInt(NULL_LENGTH);
+      } else {
+        buffer.putInt(proof.length);
+        for (final byte[] element : proof) {
+          buffer.put(element);
+        }
+      }
+    }
+  }
+
+  public ClaimAsrProof get(final PublicKey account,
+                           final String asrTimeline,
+                           final Collection<PublicKey> mints) {
+    return proofs.get(new Key(account, asrTimeline, mintSet(mints)));
+  }
+
+  public boolean contains(final PublicKey account,
+                          final String asrTimeline,
+                          final Collection<PublicKey> mints) {
+    return proofs.containsKey(new Key(account, asrTimeline, mintSet(mints)));
+  }
+
+  // Appends are not forced to disk, call force once a batch has been appended.
+  // Records torn by a crash before then are discarded when the store is re-opened.
+  public boolean append(final PublicKey account,
+                        final String asrTimeline,
+                        final Collection<PublicKey> mints,
+                        final ClaimAsrProof claimAsrProof) throws IOException {
+    final var mintSet = mintSet(mints);
+    final var key = new Key(account, asrTimeline, mintSet);
+    synchronized (this) {
+      if (proofs.containsKey(key)) {
+        return false;
+      }
+      final byte[] timeline = asrTimeline.getBytes(StandardCharsets.UTF_8);
+      if (timeline.length > 0xFFFF) {
+        throw new IllegalArgumentException("asrTimeline is too long: " + asrTimeline);
+      }
+      final int recordLength = recordLength(timeline, mintSet, claimAsrProof);
+      final var buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + recordLength).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.position(RECORD_HEADER_LENGTH);
+      buffer.put(account.toByteArray());
+      buffer.putShort((short) timeline.length);
+      buffer.put(timeline);
+      buffer.putInt(mintSet.size());
+      for (final var mint : mintSet) {
+        buffer.put(mint.toByteArray());
+      }
+      writeProof(buffer, claimAsrProof);
+
+      final var crc = new CRC32();
+      crc.update(buffer.array(), RECORD_HEADER_LENGTH, recordLength);
+      buffer.putInt(0, recordLength);
+      buffer.putLong(Integer.BYTES, crc.getValue());
+      buffer.position(0);
+      writeFully(channel, buffer, channel.size());
+      appendedBytes += buffer.capacity();
+      proofs.put(key, claimAsrProof);
+      return true;
+    }
+  }
+
+  public void force() throws IOException {
+    channel.force(false);
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  public int size() {
+    return proofs.size();
+  }
+
+  public synchronized long appendedBytes() {
+    return appendedBytes;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,23 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimAsrProof;
+
+import java.util.Map;
+import java.util.Set;
+
+public record AsrClaimProofs(String asrTimeline,
+                             Map<PublicKey, ClaimAsrProof> proofs,
+                             Set<PublicKey> invalidProofs,
+                             Map<PublicKey, Throwable> failures,
+                             int cacheHits,
+                             int downloaded) {
+
+  public ClaimAsrProof get(final PublicKey account) {
+    return proofs.get(account);
+  }
+
+  public boolean complete() {
+    return invalidProofs.isEmpty() && failures.isEmpty();
+  }
+}
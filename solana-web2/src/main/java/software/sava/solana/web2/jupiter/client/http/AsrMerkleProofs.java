@@ -0,0 +1,76 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimProof;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+final class AsrMerkleProofs {
+
+  // Anchor discriminator, bump and version precede the root in the merkle distributor account.
+  static final int MERKLE_ROOT_OFFSET = 8 + 1 + Long.BYTES;
+  static final int HASH_LENGTH = 32;
+
+  private static final byte LEAF_PREFIX = 0;
+  private static final byte INTERMEDIATE_PREFIX = 1;
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  private AsrMerkleProofs() {
+  }
+
+  static byte[] leaf(final PublicKey claimant, final long amountUnlocked, final long amountLocked) {
+    final byte[] node = new byte[PublicKey.PUBLIC_KEY_LENGTH + Long.BYTES + Long.BYTES];
+    claimant.write(node, 0);
+    ByteBuffer.wrap(node, PublicKey.PUBLIC_KEY_LENGTH, Long.BYTES << 1)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .putLong(amountUnlocked)
+        .putLong(amountLocked);
+    final var digest = SHA_256.get();
+    final byte[] nodeHash = digest.digest(node);
+    digest.update(LEAF_PREFIX);
+    return digest.digest(nodeHash);
+  }
+
+  static byte[] computeRoot(final byte[] leaf, final byte[][] proof) {
+    if (proof == null) {
+      return leaf;
+    }
+    final var digest = SHA_256.get();
+    byte[] computed = leaf;
+    for (final byte[] element : proof) {
+      digest.update(INTERMEDIATE_PREFIX);
+      if (Arrays.compareUnsigned(computed, element) <= 0) {
+        digest.update(computed);
+        digest.update(element);
+      } else {
+        digest.update(element);
+        digest.update(computed);
+      }
+      computed = digest.digest();
+    }
+    return computed;
+  }
+
+  static boolean verify(final PublicKey claimant, final ClaimProof claimProof, final byte[] root) {
+    final byte[] leaf = leaf(claimant, claimProof.amount(), claimProof.lockedAmount());
+    return Arrays.equals(computeRoot(leaf, claimProof.proof()), root);
+  }
+
+  static byte[] readRoot(final byte[] distributorData) {
+    if (distributorData == null || distributorData.length < MERKLE_ROOT_OFFSET + HASH_LENGTH) {
+      throw new IllegalStateException("Invalid merkle distributor account data.");
+    }
+    return Arrays.copyOfRange(distributorData, MERKLE_ROOT_OFFSET, MERKLE_ROOT_OFFSET + HASH_LENGTH);
+  }
+}
@@ -0,0 +1,206 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
+
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class CachedDexRegistry implements JupiterDexRegistry {
+
+  private static final System.Logger logger = System.getLogger(CachedDexRegistry.class.getName());
+
+  private final JupiterClient jupiterClient;
+  private final ScheduledExecutorService scheduler;
+  private final long refreshIntervalNanos;
+  private volatile Snapshot snapshot;
+  private volatile ScheduledFuture<?> refreshTask;
+
+  CachedDexRegistry(final JupiterClient jupiterClient,
+                    final ScheduledExecutorService scheduler,
+                    final Duration refreshInterval) {
+    this.jupiterClient = jupiterClient;
+    this.scheduler = scheduler;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+    this.snapshot = Snapshot.createSnapshot(Map.of());
+  }
+
+  private record Snapshot(String[] labels,
+                          PublicKey[] programIds,
+                          Map<String, Integer> idsByLabel,
+                          Map<PublicKey, Integer> idsByProgram,
+                          ConcurrentHashMap<BitSet, String> encodedLabels) {
+
+    private static Snapshot createSnapshot(final Map<String, PublicKey> programIdsByLabel) {
+      return new Snapshot(new String[0], new PublicKey[0], Map.of(), Map.of(), new ConcurrentHashMap<>())
+          .refresh(programIdsByLabel);
+    }
+
+    // Existing labels keep their ids and new labels are appended, so ids held by callers stay valid across refreshes.
+    private Snapshot refresh(final Map<String, PublicKey> programIdsByLabel) {
+      final var newLabels = new ArrayList<String>();
+      for (final var label : programIdsByLabel.keySet()) {
+        if (labelId(label) < 0) {
+          newLabels.add(label);
+        }
+      }
+      newLabels.sort(String.CASE_INSENSITIVE_ORDER);
+      final var labels = Arrays.copyOf(this.labels, this.labels.length + newLabels.size());
+      for (int i = 0; i < newLabels.size(); ++i) {
+        labels[this.labels.length + i] = newLabels.get(i);
+      }
+      final var programIds = Arrays.copyOf(this.programIds, labels.length);
+      final var idsByLabel = HashMap.<String, Integer>newHashMap(labels.length);
+      final var idsByProgram = HashMap.<PublicKey, Integer>newHashMap(labels.length);
+      for (int id = 0; id < labels.length; ++id) {
+        final var label = labels[id];
+        final var programId = programIdsByLabel.get(label);
+        if (programId != null) {
+          programIds[id] = programId;
+        }
+        idsByLabel.put(label.toLowerCase(Locale.ENGLISH), id);
+        // Several labels may share one program, the lowest id names it.
+        idsByProgram.putIfAbsent(programIds[id], id);
+      }
+      // Encodings only depend on the labels behind each id, which never change, so the cache carries over.
+      return new Snapshot(labels, programIds, idsByLabel, idsByProgram, encodedLabels);
+    }
+
+    private int labelId(final String label) {
+      final var id = idsByLabel.get(label.toLowerCase(Locale.ENGLISH));
+      return id == null ? -1 : id;
+    }
+
+    private String encodedLabels(final Collection<String> labels) {
+      final var ids = new BitSet(this.labels.length);
+      for (final var label : labels) {
+        final int id = labelId(label);
+        if (id < 0) {
+          throw new IllegalArgumentException("Unknown DEX label: " + label);
+        }
+        ids.set(id);
+      }
+      return encodedLabels.computeIfAbsent(ids, this::encode);
+    }
+
+    private String encodeQueryLabels(final Collection<String> labels) {
+      for (final var label : labels) {
+        if (labelId(label) < 0) {
+          return JupiterQuoteRequest.encodeDexLabels(labels);
+        }
+      }
+      return encodedLabels(labels);
+    }
+
+    private String encode(final BitSet ids) {
+      final var joiner = new StringJoiner(",");
+      ids.stream().forEach(id -> joiner.add(labels[id]));
+      return URLEncoder.encode(joiner.toString(), US_ASCII);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (refreshTask == null) {
+      this.refreshTask = scheduler.scheduleWithFixedDelay(this::scheduledRefresh, 0, refreshIntervalNanos, NANOSECONDS);
+    }
+  }
+
+  private void scheduledRefresh() {
+    refresh().handle((ignored, throwable) -> {
+      if (throwable != null) {
+        logger.log(WARNING, "Failed to refresh DEX program labels.", throwable);
+      }
+      return null;
+    }).join();
+  }
+
+  @Override
+  public CompletableFuture<Void> refresh() {
+    return jupiterClient.getDexLabelToProgramIdMap().thenAccept(this::update);
+  }
+
+  private synchronized void update(final Map<String, PublicKey> programIdsByLabel) {
+    if (!programIdsByLabel.isEmpty()) {
+      this.snapshot = snapshot.refresh(programIdsByLabel);
+    }
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return snapshot.labels.length > 0;
+  }
+
+  @Override
+  public int size() {
+    return snapshot.labels.length;
+  }
+
+  @Override
+  public int labelId(final String label) {
+    return snapshot.labelId(label);
+  }
+
+  @Override
+  public int labelId(final PublicKey programId) {
+    final var id = snapshot.idsByProgram.get(programId);
+    return id == null ? -1 : id;
+  }
+
+  @Override
+  public String label(final int labelId) {
+    return snapshot.labels[labelId];
+  }
+
+  @Override
+  public String label(final PublicKey programId) {
+    final var snapshot = this.snapshot;
+    final var id = snapshot.idsByProgram.get(programId);
+    return id == null ? null : snapshot.labels[id];
+  }
+
+  @Override
+  public PublicKey programId(final int labelId) {
+    return snapshot.programIds[labelId];
+  }
+
+  @Override
+  public PublicKey programId(final String label) {
+    final var snapshot = this.snapshot;
+    final int id = snapshot.labelId(label);
+    return id < 0 ? null : snapshot.programIds[id];
+  }
+
+  @Override
+  public String encodedLabels(final Collection<String> labels) {
+    return snapshot.encodedLabels(labels);
+  }
+
+  @Override
+  public String serialize(final JupiterQuoteRequest request) {
+    return request.serialize(snapshot::encodeQueryLabels);
+  }
+
+  @Override
+  public QuoteTemplate compile(final JupiterQuoteRequest request) {
+    return QuoteTemplate.compile(request, snapshot::encodeQueryLabels);
+  }
+
+  @Override
+  public synchronized void close() {
+    final var refreshTask = this.refreshTask;
+    if (refreshTask != null) {
+      refreshTask.cancel(false);
+    }
+  }
+}
@@ -0,0 +1,341 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterSwapRequestPrefix;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterTokenTag;
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
+import software.sava.solana.web2.jupiter.client.http.response.*;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedCollection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+abstract class DelegatingJupiterClient implements JupiterClient {
+
+  protected final JupiterClient delegate;
+
+  DelegatingJupiterClient(final JupiterClient delegate) {
+    this.delegate = delegate;
+  }
+
+  public final JupiterClient delegate() {
+    return delegate;
+  }
+
+  @Override
+  public URI endpoint() {
+    return delegate.endpoint();
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, JupiterTokenV2>> queryTokens(final String query) {
+    return delegate.queryTokens(query);
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, JupiterTokenV2>> queryTokens(final Collection<String> query) {
+    return delegate.queryTokens(query);
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, JupiterTokenV2>> tokensForTag(final String tag) {
+    return delegate.tokensForTag(tag);
+  }
+
+  @Override
+  public CompletableFuture<List<JupiterTokenProjection>> queryTokens(final Collection<String> query,
+                                                                     final Set<JupiterTokenField> fields) {
+    return delegate.queryTokens(query, fields);
+  }
+
+  @Override
+  public CompletableFuture<List<JupiterTokenProjection>> tokensForTag(final String tag,
+                                                                      final Set<JupiterTokenField> fields) {
+    return delegate.tokensForTag(tag, fields);
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, JupiterTokenV2>> tokensForCategory(final String category,
+                                                                             final String interval,
+                                                                             final int limit) {
+    return delegate.tokensForCategory(category, interval, limit);
+  }
+
+  @Override
+  public CompletableFuture<Map<PublicKey, JupiterTokenV2>> recentTokens() {
+    return delegate.recentTokens();
+  }
+
+  @Override
+  @Deprecated
+  public CompletableFuture<TokenContext> token(final PublicKey mint) {
+    return delegate.token(mint);
+  }
+
+  @Override
+  @Deprecated
+  public CompletableFuture<Map<PublicKey, TokenContext>> allTokens() {
+    return delegate.allTokens();
+  }
+
+  @Override
+  public CompletableFuture<List<PublicKey>> tradableMints() {
+    return delegate.tradableMints();
+  }
+
+  @Override
+  public CompletableFuture<TradableMintSet> tradableMintSet() {
+    return delegate.tradableMintSet();
+  }
+
+  @Override
+  @Deprecated
+  public CompletableFuture<Map<PublicKey, TokenContext>> tokenMap(final JupiterTokenTag tag) {
+    return delegate.tokenMap(tag);
+  }
+
+  @Override
+  @Deprecated
+  public CompletableFuture<Map<PublicKey, TokenContext>> tokenMap(final Collection<JupiterTokenTag> tags) {
+    return delegate.tokenMap(tags);
+  }
+
+  @Override
+  public CompletableFuture<Map<String, PublicKey>> getDexLabelToProgramIdMap() {
+    return delegate.getDexLabelToProgramIdMap();
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final StringBuilder jsonBodyBuilder, final JupiterQuote jupiterQuote) {
+    return delegate.swap(jsonBodyBuilder, jupiterQuote);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final StringBuilder jsonBodyBuilder, final byte[] quoteResponseJson) {
+    return delegate.swap(jsonBodyBuilder, quoteResponseJson);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final String jsonBodyPrefix, final JupiterQuote jupiterQuote) {
+    return delegate.swap(jsonBodyPrefix, jupiterQuote);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final String jsonBodyPrefix, final byte[] quoteResponseJson) {
+    return delegate.swap(jsonBodyPrefix, quoteResponseJson);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final StringBuilder jsonBodyBuilder,
+                                                    final JupiterQuote jupiterQuote) {
+    return delegate.swapInstructions(jsonBodyBuilder, jupiterQuote);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final StringBuilder jsonBodyBuilder,
+                                                    final byte[] quoteResponseJson) {
+    return delegate.swapInstructions(jsonBodyBuilder, quoteResponseJson);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final String jsonBodyPrefix, final JupiterQuote jupiterQuote) {
+    return delegate.swapInstructions(jsonBodyPrefix, jupiterQuote);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final String jsonBodyPrefix, final byte[] quoteResponseJson) {
+    return delegate.swapInstructions(jsonBodyPrefix, quoteResponseJson);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount, final String query) {
+    return delegate.getQuote(amount, query);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query) {
+    return delegate.getQuote(query);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount,
+                                                  final String query,
+                                                  final Duration requestTimeout) {
+    return delegate.getQuote(amount, query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query, final Duration requestTimeout) {
+    return delegate.getQuote(query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps) {
+    return delegate.getQuote(template, amount, slippageBps);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps,
+                                                  final Duration requestTimeout) {
+    return delegate.getQuote(template, amount, slippageBps, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount, final String query) {
+    return delegate.getLazyQuote(amount, query);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query) {
+    return delegate.getLazyQuote(query);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount,
+                                                          final String query,
+                                                          final Duration requestTimeout) {
+    return delegate.getLazyQuote(amount, query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query, final Duration requestTimeout) {
+    return delegate.getLazyQuote(query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final StringBuilder jsonBodyBuilder,
+                                               final JupiterQuote jupiterQuote,
+                                               final Duration requestTimeout) {
+    return delegate.swap(jsonBodyBuilder, jupiterQuote, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final StringBuilder jsonBodyBuilder,
+                                               final byte[] quoteResponseJson,
+                                               final Duration requestTimeout) {
+    return delegate.swap(jsonBodyBuilder, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final String jsonBodyPrefix,
+                                               final JupiterQuote jupiterQuote,
+                                               final Duration requestTimeout) {
+    return delegate.swap(jsonBodyPrefix, jupiterQuote, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final String jsonBodyPrefix,
+                                               final byte[] quoteResponseJson,
+                                               final Duration requestTimeout) {
+    return delegate.swap(jsonBodyPrefix, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final StringBuilder jsonBodyBuilder,
+                                                    final JupiterQuote jupiterQuote,
+                                                    final Duration requestTimeout) {
+    return delegate.swapInstructions(jsonBodyBuilder, jupiterQuote, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final StringBuilder jsonBodyBuilder,
+                                                    final byte[] quoteResponseJson,
+                                                    final Duration requestTimeout) {
+    return delegate.swapInstructions(jsonBodyBuilder, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final String jsonBodyPrefix,
+                                                    final JupiterQuote jupiterQuote,
+                                                    final Duration requestTimeout) {
+    return delegate.swapInstructions(jsonBodyPrefix, jupiterQuote, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final String jsonBodyPrefix,
+                                                    final byte[] quoteResponseJson,
+                                                    final Duration requestTimeout) {
+    return delegate.swapInstructions(jsonBodyPrefix, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                               final byte[] quoteResponseJson) {
+    return delegate.swap(jsonBodyPrefix, quoteResponseJson);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                               final byte[] quoteResponseJson,
+                                               final Duration requestTimeout) {
+    return delegate.swap(jsonBodyPrefix, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                    final byte[] quoteResponseJson) {
+    return delegate.swapInstructions(jsonBodyPrefix, quoteResponseJson);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                    final byte[] quoteResponseJson,
+                                                    final Duration requestTimeout) {
+    return delegate.swapInstructions(jsonBodyPrefix, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterUltraOrder> ultraOrder(final BigInteger amount,
+                                                         final String query,
+                                                         final Duration requestTimeout) {
+    return delegate.ultraOrder(amount, query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterUltraOrder> ultraOrder(final QuoteTemplate template,
+                                                         final long amount,
+                                                         final Duration requestTimeout) {
+    return delegate.ultraOrder(template, amount, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterExecuteOrder> executeOrder(final String base64SignedTx, final String requestId) {
+    return delegate.executeOrder(base64SignedTx, requestId);
+  }
+
+  @Override
+  public CompletableFuture<JupiterExecuteOrder> executeOrder(final String base64SignedTx,
+                                                             final String requestId,
+                                                             final Duration requestTimeout) {
+    return delegate.executeOrder(base64SignedTx, requestId, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<List<MarketRecord>> getMarketCache() {
+    return delegate.getMarketCache();
+  }
+
+  @Override
+  public CompletableFuture<Long> streamMarketCache(final Set<MarketRecordField> fields,
+                                                   final Consumer<MarketRecord> consumer) {
+    return delegate.streamMarketCache(fields, consumer);
+  }
+
+  @Override
+  public CompletableFuture<ClaimAsrProof> claimAsrProof(final PublicKey account,
+                                                        final String asrTimeline,
+                                                        final SequencedCollection<PublicKey> mints) {
+    return delegate.claimAsrProof(account, asrTimeline, mints);
+  }
+}
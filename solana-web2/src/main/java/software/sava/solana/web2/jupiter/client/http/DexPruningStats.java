@@ -0,0 +1,18 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import java.time.Duration;
+
+public record DexPruningStats(long prunedQuotes,
+                              long unrestrictedQuotes,
+                              long probes,
+                              long driftsDetected,
+                              long failedQuotes,
+                              long prunedFallbacks,
+                              Duration meanPrunedLatency,
+                              Duration meanUnrestrictedLatency,
+                              double meanOutAmountDeltaBps) {
+
+  public Duration latencySaved() {
+    return meanUnrestrictedLatency.minus(meanPrunedLatency);
+  }
+}
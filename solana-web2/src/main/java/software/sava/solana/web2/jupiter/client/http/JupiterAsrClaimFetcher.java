@@ -0,0 +1,61 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.rpc.json.http.client.SolanaRpcClient;
+import software.sava.rpc.json.http.response.AccountInfo;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimAsrProof;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.SequencedCollection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import static software.sava.solana.web2.jupiter.client.http.JupiterHttpClient.DATE_TIME_FORMATTER;
+
+public interface JupiterAsrClaimFetcher {
+
+  int DEFAULT_MAX_CONCURRENCY = 16;
+
+  static JupiterAsrClaimFetcher createFetcher(final JupiterClient jupiterClient,
+                                              final AsrClaimProofStore store,
+                                              final Function<PublicKey, CompletableFuture<byte[]>> merkleRootLoader,
+                                              final ExecutorService verifyExecutor,
+                                              final int maxConcurrency) {
+    return new AsrClaimProofBulkFetcher(jupiterClient, store, merkleRootLoader, verifyExecutor, maxConcurrency);
+  }
+
+  static JupiterAsrClaimFetcher createFetcher(final JupiterClient jupiterClient,
+                                              final AsrClaimProofStore store,
+                                              final SolanaRpcClient rpcClient,
+                                              final ExecutorService verifyExecutor,
+                                              final int maxConcurrency) {
+    return createFetcher(
+        jupiterClient,
+        store,
+        merkleTree -> rpcClient.getAccountInfo(merkleTree).thenApply(AccountInfo::data).thenApply(AsrMerkleProofs::readRoot),
+        verifyExecutor,
+        maxConcurrency
+    );
+  }
+
+  CompletableFuture<AsrClaimProofs> fetchProofs(final Collection<PublicKey> accounts,
+                                                final String asrTimeline,
+                                                final SequencedCollection<PublicKey> mints);
+
+  default CompletableFuture<AsrClaimProofs> fetchProofs(final Collection<PublicKey> accounts,
+                                                        final LocalDate asrTimeline,
+                                                        final SequencedCollection<PublicKey> mints) {
+    return fetchProofs(accounts, DATE_TIME_FORMATTER.format(asrTimeline).toLowerCase(Locale.ENGLISH), mints);
+  }
+
+  CompletableFuture<Boolean> verify(final PublicKey account, final ClaimAsrProof claimAsrProof);
+
+  long requestsSent();
+
+  long cacheHits();
+
+  long invalidProofs();
+}
@@ -2,7 +2,9 @@ package software.sava.solana.web2.jupiter.client.http;
 
 import software.sava.core.accounts.PublicKey;
 import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterSwapRequestPrefix;
 import software.sava.solana.web2.jupiter.client.http.request.JupiterTokenTag;
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
 import software.sava.solana.web2.jupiter.client.http.response.*;
 
 import java.math.BigInteger;
@@ -14,9 +16,13 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static software.sava.solana.web2.jupiter.client.http.JupiterHttpClient.DATE_TIME_FORMATTER;
 import static software.sava.solana.web2.jupiter.client.http.JupiterHttpClient.DEFAULT_REQUEST_TIMEOUT;
 
@@ -172,6 +178,16 @@ public interface JupiterClient {
 
   CompletableFuture<Map<PublicKey, JupiterTokenV2>> tokensForTag(final String tag);
 
+  default CompletableFuture<List<JupiterTokenProjection>> queryTokens(final Collection<String> query,
+                                                                      final Set<JupiterTokenField> fields) {
+    return queryTokens(query).thenApply(tokens -> JupiterTokenProjection.createProjections(tokens.values(), fields));
+  }
+
+  default CompletableFuture<List<JupiterTokenProjection>> tokensForTag(final String tag,
+                                                                       final Set<JupiterTokenField> fields) {
+    return tokensForTag(tag).thenApply(tokens -> JupiterTokenProjection.createProjections(tokens.values(), fields));
+  }
+
   CompletableFuture<Map<PublicKey, JupiterTokenV2>> tokensForCategory(final String category,
                                                                       final String interval,
                                                                       final int limit);
@@ -186,6 +202,10 @@ public interface JupiterClient {
 
   CompletableFuture<List<PublicKey>> tradableMints();
 
+  default CompletableFuture<TradableMintSet> tradableMintSet() {
+    return tradableMints().thenApply(TradableMintSet::createSet);
+  }
+
   @Deprecated
   CompletableFuture<Map<PublicKey, TokenContext>> tokenMap(final JupiterTokenTag tag);
 
@@ -240,6 +260,63 @@ public interface JupiterClient {
   CompletableFuture<JupiterQuote> getQuote(final String query,
                                            final Duration requestTimeout);
 
+  default CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template, final long amount) {
+    return getQuote(template, amount, template.slippageBps());
+  }
+
+  default CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                   final long amount,
+                                                   final int slippageBps) {
+    return getQuote(template.serialize(amount, slippageBps));
+  }
+
+  default CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                   final long amount,
+                                                   final int slippageBps,
+                                                   final Duration requestTimeout) {
+    return getQuote(template.serialize(amount, slippageBps), requestTimeout);
+  }
+
+  default CompletableFuture<LazyJupiterQuote> getLazyQuote(final JupiterQuoteRequest quoteRequest) {
+    return getLazyQuote(quoteRequest.serialize());
+  }
+
+  default CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount, final String query) {
+    return getQuote(amount, query).thenApply(LazyJupiterQuote::fromQuote);
+  }
+
+  default CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query) {
+    return getQuote(query).thenApply(LazyJupiterQuote::fromQuote);
+  }
+
+  default CompletableFuture<LazyJupiterQuote> getLazyQuote(final JupiterQuoteRequest quoteRequest,
+                                                           final Duration requestTimeout) {
+    return getLazyQuote(quoteRequest.serialize(), requestTimeout);
+  }
+
+  default CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount,
+                                                           final String query,
+                                                           final Duration requestTimeout) {
+    return getQuote(amount, query, requestTimeout).thenApply(LazyJupiterQuote::fromQuote);
+  }
+
+  default CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query, final Duration requestTimeout) {
+    return getQuote(query, requestTimeout).thenApply(LazyJupiterQuote::fromQuote);
+  }
+
+  default CompletableFuture<JupiterQuoteLadder> getQuoteLadder(final JupiterQuoteRequest prototype,
+                                                               final long[] amounts,
+                                                               final int maxConcurrency,
+                                                               final Duration requestTimeout) {
+    return QuoteLadderFetcher.fetchLadder(this, prototype, amounts, maxConcurrency, requestTimeout);
+  }
+
+  default CompletableFuture<JupiterQuoteLadder> getQuoteLadder(final JupiterQuoteRequest prototype,
+                                                               final long[] amounts,
+                                                               final int maxConcurrency) {
+    return QuoteLadderFetcher.fetchLadder(this, prototype, amounts, maxConcurrency, null);
+  }
+
   CompletableFuture<JupiterSwapTx> swap(final StringBuilder jsonBodyBuilder,
                                         final JupiterQuote jupiterQuote,
                                         final Duration requestTimeout);
@@ -272,14 +349,96 @@ public interface JupiterClient {
                                              final byte[] quoteResponseJson,
                                              final Duration requestTimeout);
 
+  default CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                final byte[] quoteResponseJson) {
+    return swap(jsonBodyPrefix.toString(), quoteResponseJson);
+  }
+
+  default CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                final byte[] quoteResponseJson,
+                                                final Duration requestTimeout) {
+    return swap(jsonBodyPrefix.toString(), quoteResponseJson, requestTimeout);
+  }
+
+  default CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                final JupiterQuote jupiterQuote) {
+    return swap(jsonBodyPrefix, jupiterQuote.quoteResponseJson());
+  }
+
+  default CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                final JupiterQuote jupiterQuote,
+                                                final Duration requestTimeout) {
+    return swap(jsonBodyPrefix, jupiterQuote.quoteResponseJson(), requestTimeout);
+  }
+
+  default CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                     final byte[] quoteResponseJson) {
+    return swapInstructions(jsonBodyPrefix.toString(), quoteResponseJson);
+  }
+
+  default CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                     final byte[] quoteResponseJson,
+                                                     final Duration requestTimeout) {
+    return swapInstructions(jsonBodyPrefix.toString(), quoteResponseJson, requestTimeout);
+  }
+
+  default CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                     final JupiterQuote jupiterQuote) {
+    return swapInstructions(jsonBodyPrefix, jupiterQuote.quoteResponseJson());
+  }
+
+  default CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                     final JupiterQuote jupiterQuote,
+                                                     final Duration requestTimeout) {
+    return swapInstructions(jsonBodyPrefix, jupiterQuote.quoteResponseJson(), requestTimeout);
+  }
+
   CompletableFuture<JupiterUltraOrder> ultraOrder(final BigInteger amount,
                                                   final String query,
                                                   final Duration requestTimeout);
 
+  default CompletableFuture<JupiterUltraOrder> ultraOrder(final QuoteTemplate template,
+                                                          final long amount,
+                                                          final Duration requestTimeout) {
+    return ultraOrder(BigInteger.valueOf(amount), template.serializeWithoutAmount(), requestTimeout);
+  }
+
   CompletableFuture<JupiterExecuteOrder> executeOrder(final String base64SignedTx, final String requestId);
 
+  default CompletableFuture<JupiterExecuteOrder> executeOrder(final String base64SignedTx,
+                                                              final String requestId,
+                                                              final Duration requestTimeout) {
+    return executeOrder(base64SignedTx, requestId).orTimeout(requestTimeout.toNanos(), NANOSECONDS);
+  }
+
   CompletableFuture<List<MarketRecord>> getMarketCache();
 
+  // Implementations that cannot stream may ignore the projection and deliver fully parsed records.
+  default CompletableFuture<Long> streamMarketCache(final Set<MarketRecordField> fields,
+                                                    final Consumer<MarketRecord> consumer) {
+    return getMarketCache().thenApply(markets -> {
+      markets.forEach(consumer);
+      return (long) markets.size();
+    });
+  }
+
+  default CompletableFuture<Long> streamMarketCache(final Consumer<MarketRecord> consumer) {
+    return streamMarketCache(MarketRecordField.ALL, consumer);
+  }
+
+  default CompletableFuture<Long> streamMarketCache(final Set<MarketRecordField> fields,
+                                                    final Flow.Subscriber<? super MarketRecord> subscriber) {
+    final var publisher = new SubmissionPublisher<MarketRecord>();
+    publisher.subscribe(subscriber);
+    return streamMarketCache(fields, publisher::submit).whenComplete((numRecords, throwable) -> {
+      if (throwable == null) {
+        publisher.close();
+      } else {
+        publisher.closeExceptionally(throwable);
+      }
+    });
+  }
+
   CompletableFuture<ClaimAsrProof> claimAsrProof(final PublicKey account,
                                                  final String asrTimeline,
                                                  final SequencedCollection<PublicKey> mints);
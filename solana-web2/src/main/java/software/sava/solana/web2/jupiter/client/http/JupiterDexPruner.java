@@ -0,0 +1,51 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface JupiterDexPruner {
+
+  int DEFAULT_MIN_OBSERVATIONS = 16;
+  int DEFAULT_PROBE_INTERVAL = 32;
+  int DEFAULT_MAX_DEXES = 8;
+  double DEFAULT_COVERAGE = 0.99;
+  double DEFAULT_DECAY = 0.98;
+
+  static JupiterDexPruner createPruner(final JupiterClient jupiterClient,
+                                       final int minObservations,
+                                       final int probeInterval,
+                                       final int maxDexes,
+                                       final double coverage,
+                                       final double decay) {
+    return new RouteHistoryDexPruner(jupiterClient, minObservations, probeInterval, maxDexes, coverage, decay);
+  }
+
+  static JupiterDexPruner createPruner(final JupiterClient jupiterClient) {
+    return createPruner(
+        jupiterClient,
+        DEFAULT_MIN_OBSERVATIONS,
+        DEFAULT_PROBE_INTERVAL,
+        DEFAULT_MAX_DEXES,
+        DEFAULT_COVERAGE,
+        DEFAULT_DECAY
+    );
+  }
+
+  CompletableFuture<JupiterQuote> getQuote(final JupiterQuoteRequest quoteRequest);
+
+  CompletableFuture<JupiterQuote> getQuote(final JupiterQuoteRequest quoteRequest, final Duration requestTimeout);
+
+  JupiterQuoteRequest prune(final JupiterQuoteRequest quoteRequest);
+
+  void record(final JupiterQuoteRequest quoteRequest, final JupiterQuote quote);
+
+  List<String> winningDexes(final PublicKey inputMint, final PublicKey outputMint, final BigInteger amount);
+
+  DexPruningStats stats();
+}
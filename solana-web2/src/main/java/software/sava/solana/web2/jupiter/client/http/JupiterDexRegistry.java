@@ -0,0 +1,48 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+public interface JupiterDexRegistry extends AutoCloseable {
+
+  static JupiterDexRegistry createRegistry(final JupiterClient jupiterClient,
+                                           final ScheduledExecutorService scheduler,
+                                           final Duration refreshInterval) {
+    return new CachedDexRegistry(jupiterClient, scheduler, refreshInterval);
+  }
+
+  void start();
+
+  CompletableFuture<Void> refresh();
+
+  boolean isLoaded();
+
+  int size();
+
+  int labelId(final String label);
+
+  int labelId(final PublicKey programId);
+
+  String label(final int labelId);
+
+  String label(final PublicKey programId);
+
+  PublicKey programId(final int labelId);
+
+  PublicKey programId(final String label);
+
+  String encodedLabels(final Collection<String> labels);
+
+  String serialize(final JupiterQuoteRequest request);
+
+  QuoteTemplate compile(final JupiterQuoteRequest request);
+
+  @Override
+  void close();
+}
@@ -0,0 +1,88 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public interface JupiterHedgedClient extends JupiterClient {
+
+  double DEFAULT_LATENCY_PERCENTILE = 0.95;
+  Duration DEFAULT_MIN_HEDGE_DELAY = Duration.ofMillis(20);
+  Duration DEFAULT_MAX_HEDGE_DELAY = Duration.ofSeconds(2);
+  Duration DEFAULT_INITIAL_HEDGE_DELAY = Duration.ofMillis(250);
+
+  static JupiterHedgedClient createClient(final JupiterClient primary,
+                                          final List<JupiterClient> secondaries,
+                                          final double latencyPercentile,
+                                          final Duration minHedgeDelay,
+                                          final Duration maxHedgeDelay,
+                                          final Duration initialHedgeDelay,
+                                          final Executor hedgeExecutor) {
+    return new JupiterHedgingClient(
+        primary, secondaries,
+        latencyPercentile,
+        minHedgeDelay, maxHedgeDelay, initialHedgeDelay,
+        hedgeExecutor
+    );
+  }
+
+  static JupiterHedgedClient createClient(final JupiterClient primary,
+                                          final List<JupiterClient> secondaries,
+                                          final double latencyPercentile,
+                                          final Duration minHedgeDelay,
+                                          final Duration maxHedgeDelay) {
+    return createClient(
+        primary, secondaries,
+        latencyPercentile,
+        minHedgeDelay, maxHedgeDelay, DEFAULT_INITIAL_HEDGE_DELAY,
+        ForkJoinPool.commonPool()
+    );
+  }
+
+  static JupiterHedgedClient createClient(final JupiterClient primary,
+                                          final List<JupiterClient> secondaries,
+                                          final Executor hedgeExecutor) {
+    return createClient(
+        primary, secondaries,
+        DEFAULT_LATENCY_PERCENTILE,
+        DEFAULT_MIN_HEDGE_DELAY, DEFAULT_MAX_HEDGE_DELAY, DEFAULT_INITIAL_HEDGE_DELAY,
+        hedgeExecutor
+    );
+  }
+
+  static JupiterHedgedClient createClient(final JupiterClient primary, final List<JupiterClient> secondaries) {
+    return createClient(
+        primary, secondaries,
+        DEFAULT_LATENCY_PERCENTILE,
+        DEFAULT_MIN_HEDGE_DELAY,
+        DEFAULT_MAX_HEDGE_DELAY
+    );
+  }
+
+  static JupiterHedgedClient createClient(final URI primaryQuoteEndpoint,
+                                          final List<URI> secondaryQuoteEndpoints,
+                                          final HttpClient httpClient) {
+    final var tokensEndpoint = URI.create(PUBLIC_TOKEN_LIST_ENDPOINT);
+    return createClient(
+        JupiterClient.createClient(primaryQuoteEndpoint, tokensEndpoint, httpClient),
+        secondaryQuoteEndpoints.stream()
+            .map(endpoint -> JupiterClient.createClient(endpoint, tokensEndpoint, httpClient))
+            .toList()
+    );
+  }
+
+  JupiterClient delegate();
+
+  List<JupiterClient> secondaries();
+
+  Duration hedgeDelay();
+
+  long hedgesSent();
+
+  long primaryWins();
+
+  long hedgeWins();
+}
@@ -0,0 +1,241 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.LazyJupiterQuote;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class JupiterHedgingClient extends DelegatingJupiterClient implements JupiterHedgedClient {
+
+  private static final int LATENCY_SAMPLES = 256;
+
+  private final List<JupiterClient> secondaries;
+  private final LatencyTracker primaryLatency;
+  private final long minHedgeDelayNanos;
+  private final long maxHedgeDelayNanos;
+  private final long initialHedgeDelayNanos;
+  private final Executor hedgeExecutor;
+  private final LongAdder hedgesSent;
+  private final LongAdder primaryWins;
+  private final LongAdder hedgeWins;
+
+  JupiterHedgingClient(final JupiterClient primary,
+                       final List<JupiterClient> secondaries,
+                       final double latencyPercentile,
+                       final Duration minHedgeDelay,
+                       final Duration maxHedgeDelay,
+                       final Duration initialHedgeDelay,
+                       final Executor hedgeExecutor) {
+    super(primary);
+    if (secondaries.isEmpty()) {
+      throw new IllegalArgumentException("At least one secondary client is required to hedge requests.");
+    }
+    this.secondaries = List.copyOf(secondaries);
+    this.primaryLatency = new LatencyTracker(LATENCY_SAMPLES, latencyPercentile);
+    this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+    this.maxHedgeDelayNanos = maxHedgeDelay.toNanos();
+    this.initialHedgeDelayNanos = Math.min(maxHedgeDelayNanos, Math.max(minHedgeDelayNanos, initialHedgeDelay.toNanos()));
+    this.hedgeExecutor = hedgeExecutor;
+    this.hedgesSent = new LongAdder();
+    this.primaryWins = new LongAdder();
+    this.hedgeWins = new LongAdder();
+  }
+
+  private long hedgeDelayNanos() {
+    final long observed = primaryLatency.percentileNanos();
+    return observed < 0
+        ? initialHedgeDelayNanos
+        : Math.min(maxHedgeDelayNanos, Math.max(minHedgeDelayNanos, observed));
+  }
+
+  private <T> CompletableFuture<T> hedge(final Function<JupiterClient, CompletableFuture<T>> getQuote) {
+    final var hedgedQuote = new HedgedQuote<>(getQuote);
+    hedgedQuote.start();
+    return hedgedQuote.result;
+  }
+
+  private final class HedgedQuote<T> {
+
+    private final Function<JupiterClient, CompletableFuture<T>> getQuote;
+    private final CompletableFuture<T> result;
+    private final AtomicReferenceArray<CompletableFuture<T>> attempts;
+    private final AtomicBoolean hedgesLaunched;
+    private final AtomicInteger failures;
+    private final long start;
+
+    private HedgedQuote(final Function<JupiterClient, CompletableFuture<T>> getQuote) {
+      this.getQuote = getQuote;
+      this.result = new CompletableFuture<>();
+      this.attempts = new AtomicReferenceArray<>(1 + secondaries.size());
+      this.hedgesLaunched = new AtomicBoolean();
+      this.failures = new AtomicInteger();
+      this.start = System.nanoTime();
+    }
+
+    private void start() {
+      result.whenComplete((quote, throwable) -> cancelAttempts());
+      launch(0, delegate);
+      if (!result.isDone()) {
+        CompletableFuture.delayedExecutor(hedgeDelayNanos(), NANOSECONDS, hedgeExecutor).execute(this::launchHedges);
+      }
+    }
+
+    private void launchHedges() {
+      if (result.isDone() || !hedgesLaunched.compareAndSet(false, true)) {
+        return;
+      }
+      hedgesSent.increment();
+      for (int i = 0; i < secondaries.size(); ++i) {
+        launch(i + 1, secondaries.get(i));
+      }
+    }
+
+    private void launch(final int index, final JupiterClient client) {
+      final CompletableFuture<T> attempt;
+      try {
+        attempt = getQuote.apply(client);
+      } catch (final RuntimeException ex) {
+        onComplete(index, null, ex);
+        return;
+      }
+      attempts.set(index, attempt);
+      attempt.whenComplete((quote, throwable) -> onComplete(index, quote, throwable));
+      if (result.isDone()) {
+        attempt.cancel(true);
+      }
+    }
+
+    private void onComplete(final int index, final T quote, final Throwable throwable) {
+      if (throwable == null) {
+        if (index == 0) {
+          primaryLatency.record(System.nanoTime() - start);
+        }
+        if (result.complete(quote)) {
+          if (index == 0) {
+            primaryWins.increment();
+          } else {
+            hedgeWins.increment();
+          }
+        }
+      } else if (index == 0 && throwable instanceof CancellationException && result.isDone()) {
+        // A primary cancelled after losing to a hedge took at least this long, dropping it would bias the
+        // percentile, and therefore the hedge delay, low.
+        primaryLatency.record(System.nanoTime() - start);
+      } else {
+        if (index == 0) {
+          launchHedges();
+        }
+        final int numLaunched = hedgesLaunched.get() ? attempts.length() : 1;
+        if (failures.incrementAndGet() >= numLaunched) {
+          result.completeExceptionally(throwable);
+        }
+      }
+    }
+
+    private void cancelAttempts() {
+      for (int i = 0; i < attempts.length(); ++i) {
+        final var attempt = attempts.get(i);
+        if (attempt != null && !attempt.isDone()) {
+          attempt.cancel(true);
+        }
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount, final String query) {
+    return hedge(client -> client.getQuote(amount, query));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query) {
+    return hedge(client -> client.getQuote(query));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount,
+                                                  final String query,
+                                                  final Duration requestTimeout) {
+    return hedge(client -> client.getQuote(amount, query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query, final Duration requestTimeout) {
+    return hedge(client -> client.getQuote(query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps) {
+    return hedge(client -> client.getQuote(template, amount, slippageBps));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps,
+                                                  final Duration requestTimeout) {
+    return hedge(client -> client.getQuote(template, amount, slippageBps, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount, final String query) {
+    return hedge(client -> client.getLazyQuote(amount, query));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query) {
+    return hedge(client -> client.getLazyQuote(query));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount,
+                                                          final String query,
+                                                          final Duration requestTimeout) {
+    return hedge(client -> client.getLazyQuote(amount, query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query, final Duration requestTimeout) {
+    return hedge(client -> client.getLazyQuote(query, requestTimeout));
+  }
+
+  @Override
+  public List<JupiterClient> secondaries() {
+    return secondaries;
+  }
+
+  @Override
+  public Duration hedgeDelay() {
+    return Duration.ofNanos(hedgeDelayNanos());
+  }
+
+  @Override
+  public long hedgesSent() {
+    return hedgesSent.sum();
+  }
+
+  @Override
+  public long primaryWins() {
+    return primaryWins.sum();
+  }
+
+  @Override
+  public long hedgeWins() {
+    return hedgeWins.sum();
+  }
+}
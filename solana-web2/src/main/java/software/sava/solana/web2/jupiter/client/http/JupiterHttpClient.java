@@ -3,9 +3,13 @@ package software.sava.solana.web2.jupiter.client.http;
 import software.sava.core.accounts.PublicKey;
 import software.sava.rpc.json.PublicKeyEncoding;
 import software.sava.rpc.json.http.client.JsonHttpClient;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterSwapRequestPrefix;
 import software.sava.solana.web2.jupiter.client.http.request.JupiterTokenTag;
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
 import software.sava.solana.web2.jupiter.client.http.response.*;
+import systems.comodal.jsoniter.JsonIterator;
 
+import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.net.InetAddress;
@@ -14,16 +18,19 @@ import java.net.UnknownHostException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static java.net.http.HttpResponse.BodyHandlers.ofByteArray;
+import static java.net.http.HttpResponse.BodyHandlers.ofInputStream;
 import static software.sava.rpc.json.PublicKeyEncoding.PARSE_BASE58_PUBLIC_KEY;
 import static software.sava.rpc.json.http.client.JsonResponseController.checkResponseCode;
 
@@ -45,7 +52,9 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     }
     return mints;
   });
+  private static final Function<HttpResponse<byte[]>, TradableMintSet> MINT_SET = applyResponse(TradableMintSet::parse);
   private static final Function<HttpResponse<byte[]>, JupiterQuote> QUOTE_PARSER = applyResponse(JupiterQuote::parse);
+  private static final Function<HttpResponse<byte[]>, LazyJupiterQuote> LAZY_QUOTE_PARSER = applyResponse(LazyJupiterQuote::parse);
   private static final Function<HttpResponse<byte[]>, JupiterSwapTx> SWAP_TX = applyResponse(JupiterSwapTx::parse);
   private static final Function<HttpResponse<byte[]>, byte[]> SWAP_INSTRUCTIONS_TX = response -> {
     checkResponseCode(response);
@@ -62,6 +71,8 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     }
     return programLabels;
   });
+  private static final URI MARKET_CACHE_URI = URI.create("https://cache.jup.ag/markets?v=4");
+  private static final int MARKET_CACHE_BUFFER_SIZE = 65_536;
   private static final Function<HttpResponse<byte[]>, List<MarketRecord>> MARKET_CACHE_PARSER = applyResponse(MarketRecord::parse);
   private static final Function<HttpResponse<byte[]>, ClaimAsrProof> ASR_PROOF = applyResponse(ClaimAsrProof::parseProof);
 
@@ -79,15 +90,20 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
   private final URI v2TokenPath;
   private final URI v2RecentTokenPath;
 
-  private final String quotePathFormat;
+  private final String quoteAmountPath;
   private final String quotePath;
+  private final byte[] quoteURIPrefix;
   private final URI swapURI;
   private final URI swapInstructionsURI;
   private final URI workerURI;
   private final URI executeUltraOrderURI;
   private final String ultraOrderPathFormat;
+  private final byte[] ultraOrderURIPrefix;
   private final HttpRequest programLabelsRequest;
   private final Function<HttpResponse<byte[]>, JupiterQuote> quoteParser;
+  private final Function<HttpResponse<byte[]>, LazyJupiterQuote> lazyQuoteParser;
+  private final Function<HttpResponse<byte[]>, JupiterSwapTx> swapTxParser;
+  private final Function<HttpResponse<byte[]>, byte[]> swapInstructionsParser;
   private final Function<HttpResponse<byte[]>, JupiterUltraOrder> ultraOrderParser;
   private final Function<HttpResponse<byte[]>, JupiterExecuteOrder> executeUltraOrderParser;
 
@@ -111,13 +127,13 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     try {
       final var inetAddress = InetAddress.getByName(quoteEndpoint.getHost());
       if (inetAddress.isLoopbackAddress() || inetAddress.isAnyLocalAddress()) {
-        this.quotePathFormat = "/quote?amount=%s&%s";
+        this.quoteAmountPath = "/quote?amount=";
         this.quotePath = "/quote?";
         this.swapURI = quoteEndpoint.resolve("/swap");
         this.swapInstructionsURI = quoteEndpoint.resolve("/swap-instructions");
         this.programLabelsRequest = newRequest(quoteEndpoint.resolve("/program-id-to-label")).build();
       } else {
-        this.quotePathFormat = "/swap/v1/quote?amount=%s&%s";
+        this.quoteAmountPath = "/swap/v1/quote?amount=";
         this.quotePath = "/swap/v1/quote?";
         this.swapURI = quoteEndpoint.resolve("/swap/v1/swap");
         this.swapInstructionsURI = quoteEndpoint.resolve("/swap/v1/swap-instructions");
@@ -126,9 +142,14 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     } catch (final UnknownHostException e) {
       throw new UncheckedIOException(e);
     }
+    this.quoteURIPrefix = QuoteTemplate.encodeURIPrefix(quoteEndpoint, quotePath);
     this.ultraOrderPathFormat = "/ultra/v1/order?amount=%s&%s";
+    this.ultraOrderURIPrefix = QuoteTemplate.encodeURIPrefix(quoteEndpoint, "/ultra/v1/order?");
     this.executeUltraOrderURI = quoteEndpoint.resolve("/ultra/v1/execute");
     this.quoteParser = wrapParser(QUOTE_PARSER);
+    this.lazyQuoteParser = wrapParser(LAZY_QUOTE_PARSER);
+    this.swapTxParser = wrapParser(SWAP_TX);
+    this.swapInstructionsParser = wrapParser(SWAP_INSTRUCTIONS_TX);
     this.ultraOrderParser = wrapParser(ULTRA_ORDER_PARSER);
     this.executeUltraOrderParser = wrapParser(EXECUTE_ULTRA_ORDER_PARSER);
   }
@@ -159,6 +180,25 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     return queryTokens("tag", tag);
   }
 
+  private CompletableFuture<List<JupiterTokenProjection>> queryTokens(final String finalPathSegment,
+                                                                      final String query,
+                                                                      final Set<JupiterTokenField> fields) {
+    final var url = v2TokenPath.resolve(finalPathSegment + "?query=" + query);
+    return sendGetRequest(url, applyResponse(ji -> JupiterTokenProjection.parseTokens(ji, fields)));
+  }
+
+  @Override
+  public CompletableFuture<List<JupiterTokenProjection>> queryTokens(final Collection<String> query,
+                                                                     final Set<JupiterTokenField> fields) {
+    return queryTokens("search", String.join(",", query), fields);
+  }
+
+  @Override
+  public CompletableFuture<List<JupiterTokenProjection>> tokensForTag(final String tag,
+                                                                      final Set<JupiterTokenField> fields) {
+    return queryTokens("tag", tag, fields);
+  }
+
   @Override
   public CompletableFuture<Map<PublicKey, JupiterTokenV2>> tokensForCategory(final String category,
                                                                              final String interval,
@@ -188,6 +228,11 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     return sendGetRequest(tradableMintsPath, MINTS);
   }
 
+  @Override
+  public CompletableFuture<TradableMintSet> tradableMintSet() {
+    return sendGetRequest(tradableMintsPath, MINT_SET);
+  }
+
   @Override
   public CompletableFuture<Map<PublicKey, TokenContext>> tokenMap(final JupiterTokenTag tag) {
     if (tag == null) {
@@ -267,7 +312,7 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
   public CompletableFuture<JupiterSwapTx> swap(final StringBuilder jsonBodyBuilder,
                                                final byte[] quoteResponseJson,
                                                final Duration requestTimeout) {
-    return swap(jsonBodyBuilder.append(new String(quoteResponseJson)).append('}').toString(), requestTimeout);
+    return swap(JupiterSwapRequestPrefix.createPrefix(jsonBodyBuilder), quoteResponseJson, requestTimeout);
   }
 
   @Override
@@ -281,11 +326,31 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
   public CompletableFuture<JupiterSwapTx> swap(final String jsonBodyPrefix,
                                                final byte[] quoteResponseJson,
                                                final Duration requestTimeout) {
-    return swap(jsonBodyPrefix + new String(quoteResponseJson) + '}', requestTimeout);
+    return swap(JupiterSwapRequestPrefix.createPrefix(jsonBodyPrefix), quoteResponseJson, requestTimeout);
   }
 
-  private CompletableFuture<JupiterSwapTx> swap(final String jsonBody, final Duration requestTimeout) {
-    return sendPostRequest(swapURI, SWAP_TX, requestTimeout, jsonBody);
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                               final byte[] quoteResponseJson) {
+    return swap(jsonBodyPrefix, quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapTx> swap(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                               final byte[] quoteResponseJson,
+                                               final Duration requestTimeout) {
+    final var request = newJsonPostRequest(swapURI, jsonBodyPrefix, quoteResponseJson, requestTimeout);
+    return httpClient.sendAsync(request, ofByteArray()).thenApply(swapTxParser);
+  }
+
+  private HttpRequest newJsonPostRequest(final URI uri,
+                                         final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                         final byte[] quoteResponseJson,
+                                         final Duration requestTimeout) {
+    return newRequest(uri, requestTimeout)
+        .header("Content-Type", "application/json")
+        .POST(jsonBodyPrefix.bodyPublisher(quoteResponseJson))
+        .build();
   }
 
   @Override
@@ -299,7 +364,7 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
   public CompletableFuture<byte[]> swapInstructions(final StringBuilder jsonBodyBuilder,
                                                     final byte[] quoteResponseJson,
                                                     final Duration requestTimeout) {
-    return swapInstructions(jsonBodyBuilder.append(new String(quoteResponseJson)).append('}').toString(), requestTimeout);
+    return swapInstructions(JupiterSwapRequestPrefix.createPrefix(jsonBodyBuilder), quoteResponseJson, requestTimeout);
   }
 
   @Override
@@ -313,11 +378,21 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
   public CompletableFuture<byte[]> swapInstructions(final String jsonBodyPrefix,
                                                     final byte[] quoteResponseJson,
                                                     final Duration requestTimeout) {
-    return swapInstructions(jsonBodyPrefix + new String(quoteResponseJson) + '}', requestTimeout);
+    return swapInstructions(JupiterSwapRequestPrefix.createPrefix(jsonBodyPrefix), quoteResponseJson, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                    final byte[] quoteResponseJson) {
+    return swapInstructions(jsonBodyPrefix, quoteResponseJson, requestTimeout);
   }
 
-  private CompletableFuture<byte[]> swapInstructions(final String jsonBody, final Duration requestTimeout) {
-    return sendPostRequest(swapInstructionsURI, SWAP_INSTRUCTIONS_TX, requestTimeout, jsonBody);
+  @Override
+  public CompletableFuture<byte[]> swapInstructions(final JupiterSwapRequestPrefix jsonBodyPrefix,
+                                                    final byte[] quoteResponseJson,
+                                                    final Duration requestTimeout) {
+    final var request = newJsonPostRequest(swapInstructionsURI, jsonBodyPrefix, quoteResponseJson, requestTimeout);
+    return httpClient.sendAsync(request, ofByteArray()).thenApply(swapInstructionsParser);
   }
 
   @Override
@@ -330,19 +405,85 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
     return getQuote(query, requestTimeout);
   }
 
+  // Cancelling the parsed stage alone would leave the exchange running, so cancellation is forwarded to it.
+  private <T> CompletableFuture<T> sendCancellable(final HttpRequest request,
+                                                   final Function<HttpResponse<byte[]>, T> parser) {
+    final var exchange = this.httpClient.sendAsync(request, ofByteArray());
+    final var parsed = exchange.thenApply(parser);
+    parsed.whenComplete((ignored, throwable) -> {
+      if (parsed.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+    return parsed;
+  }
+
+  private <T> CompletableFuture<T> sendCancellablePost(final URI uri,
+                                                       final Function<HttpResponse<byte[]>, T> parser,
+                                                       final String body,
+                                                       final Duration requestTimeout) {
+    final var request = newRequest(uri, requestTimeout)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+    return sendCancellable(request, parser);
+  }
+
   @Override
   public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount,
                                                   final String query,
                                                   final Duration requestTimeout) {
-    final var pathAndQuery = String.format(quotePathFormat, amount, query);
+    final var pathAndQuery = quoteAmountPath + amount + '&' + query;
     final var request = newRequest(pathAndQuery, requestTimeout).GET().build();
-    return this.httpClient.sendAsync(request, ofByteArray()).thenApply(quoteParser);
+    return sendCancellable(request, quoteParser);
   }
 
   @Override
   public CompletableFuture<JupiterQuote> getQuote(final String query, final Duration requestTimeout) {
     final var request = newRequest(quotePath + query, requestTimeout).GET().build();
-    return this.httpClient.sendAsync(request, ofByteArray()).thenApply(quoteParser);
+    return sendCancellable(request, quoteParser);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps) {
+    return getQuote(template, amount, slippageBps, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps,
+                                                  final Duration requestTimeout) {
+    final var uri = template.createURI(quoteURIPrefix, amount, slippageBps);
+    final var request = newRequest(uri, requestTimeout).GET().build();
+    return sendCancellable(request, quoteParser);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount, final String query) {
+    return getLazyQuote(amount, query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query) {
+    return getLazyQuote(query, requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount,
+                                                          final String query,
+                                                          final Duration requestTimeout) {
+    final var pathAndQuery = quoteAmountPath + amount + '&' + query;
+    final var request = newRequest(pathAndQuery, requestTimeout).GET().build();
+    return sendCancellable(request, lazyQuoteParser);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query, final Duration requestTimeout) {
+    final var request = newRequest(quotePath + query, requestTimeout).GET().build();
+    return sendCancellable(request, lazyQuoteParser);
   }
 
   @Override
@@ -350,31 +491,79 @@ final class JupiterHttpClient extends JsonHttpClient implements JupiterClient {
                                                          final String query,
                                                          final Duration requestTimeout) {
     final var pathAndQuery = String.format(ultraOrderPathFormat, amount, query);
-    final var request = newRequest(endpoint.resolve(pathAndQuery)).GET().build();
-    return this.httpClient.sendAsync(request, ofByteArray()).thenApply(ultraOrderParser);
+    final var request = newRequest(endpoint.resolve(pathAndQuery), requestTimeout).GET().build();
+    return sendCancellable(request, ultraOrderParser);
+  }
+
+  @Override
+  public CompletableFuture<JupiterUltraOrder> ultraOrder(final QuoteTemplate template,
+                                                         final long amount,
+                                                         final Duration requestTimeout) {
+    final var uri = template.createURI(ultraOrderURIPrefix, amount);
+    final var request = newRequest(uri, requestTimeout).GET().build();
+    return sendCancellable(request, ultraOrderParser);
+  }
+
+  private static String executeOrderBody(final String base64SignedTx, final String requestId) {
+    return String.format("""
+            {
+             "signedTransaction": "%s",
+             "requestId": "%s"
+            }""",
+        base64SignedTx, requestId
+    );
   }
 
   @Override
   public CompletableFuture<JupiterExecuteOrder> executeOrder(final String base64SignedTx, final String requestId) {
-    return sendPostRequest(executeUltraOrderURI, executeUltraOrderParser, String.format("""
-                {
-                 "signedTransaction": "%s",
-                 "requestId": "%s"
-                }""",
-            base64SignedTx, requestId
-        )
+    return sendPostRequest(executeUltraOrderURI, executeUltraOrderParser, executeOrderBody(base64SignedTx, requestId));
+  }
+
+  @Override
+  public CompletableFuture<JupiterExecuteOrder> executeOrder(final String base64SignedTx,
+                                                             final String requestId,
+                                                             final Duration requestTimeout) {
+    return sendCancellablePost(
+        executeUltraOrderURI,
+        executeUltraOrderParser,
+        executeOrderBody(base64SignedTx, requestId),
+        requestTimeout
     );
   }
 
   @Override
   public CompletableFuture<List<MarketRecord>> getMarketCache() {
     final var request = HttpRequest
-        .newBuilder(URI.create("https://cache.jup.ag/markets?v=4"))
+        .newBuilder(MARKET_CACHE_URI)
         .header("Content-Type", "application/json")
         .build();
     return httpClient.sendAsync(request, ofByteArray()).thenApply(wrapParser(MARKET_CACHE_PARSER));
   }
 
+  @Override
+  public CompletableFuture<Long> streamMarketCache(final Set<MarketRecordField> fields,
+                                                   final Consumer<MarketRecord> consumer) {
+    final var request = HttpRequest
+        .newBuilder(MARKET_CACHE_URI)
+        .header("Content-Type", "application/json")
+        .build();
+    // Records are parsed as body chunks arrive, off of the HttpClient's selector thread.
+    return httpClient.sendAsync(request, ofInputStream()).thenApplyAsync(response -> {
+      try (final var body = response.body()) {
+        final int statusCode = response.statusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+          throw new IllegalStateException(String.format(
+              "Failed to stream market cache [httpCode=%d]: %s",
+              statusCode, new String(body.readAllBytes(), StandardCharsets.UTF_8)
+          ));
+        }
+        return MarketRecord.parse(JsonIterator.parse(body, MARKET_CACHE_BUFFER_SIZE), fields, consumer);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
   @Override
   public CompletableFuture<ClaimAsrProof> claimAsrProof(final PublicKey vault,
                                                         final String account,
@@ -0,0 +1,44 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuoteLadder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public interface JupiterPriceImpactModel {
+
+  int DEFAULT_MAX_SAMPLES = 64;
+  Duration DEFAULT_MAX_AGE = Duration.ofSeconds(10);
+
+  static JupiterPriceImpactModel createModel(final JupiterClient jupiterClient,
+                                             final int maxSamples,
+                                             final Duration maxAge) {
+    return new MonotoneQuoteCurveModel(jupiterClient, maxSamples, maxAge);
+  }
+
+  static JupiterPriceImpactModel createModel(final JupiterClient jupiterClient) {
+    return createModel(jupiterClient, DEFAULT_MAX_SAMPLES, DEFAULT_MAX_AGE);
+  }
+
+  void observe(final JupiterQuote quote);
+
+  void observe(final JupiterQuoteLadder ladder);
+
+  PriceImpactEstimate estimate(final PublicKey inputMint, final PublicKey outputMint, final long inAmount);
+
+  long expectedOutAmount(final PublicKey inputMint, final PublicKey outputMint, final long inAmount);
+
+  CompletableFuture<PriceImpactEstimate> estimateOrQuote(final JupiterQuoteRequest quoteRequest,
+                                                         final double minConfidence);
+
+  int numSamples(final PublicKey inputMint, final PublicKey outputMint);
+
+  void invalidate(final PublicKey inputMint, final PublicKey outputMint);
+
+  long modelHits();
+
+  long liveQuotes();
+}
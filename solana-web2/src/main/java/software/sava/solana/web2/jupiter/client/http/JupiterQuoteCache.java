@@ -0,0 +1,40 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import java.time.Duration;
+
+public interface JupiterQuoteCache extends JupiterClient {
+
+  int DEFAULT_MAX_ENTRIES = 4_096;
+  long NO_SLOT_LIMIT = Long.MAX_VALUE;
+
+  static JupiterQuoteCache createCache(final JupiterClient delegate,
+                                       final Duration timeToLive,
+                                       final long maxSlotAge,
+                                       final int maxEntries) {
+    return new JupiterQuoteCacheClient(delegate, timeToLive, maxSlotAge, maxEntries);
+  }
+
+  static JupiterQuoteCache createCache(final JupiterClient delegate,
+                                       final Duration timeToLive,
+                                       final long maxSlotAge) {
+    return createCache(delegate, timeToLive, maxSlotAge, DEFAULT_MAX_ENTRIES);
+  }
+
+  static JupiterQuoteCache createCache(final JupiterClient delegate, final Duration timeToLive) {
+    return createCache(delegate, timeToLive, NO_SLOT_LIMIT, DEFAULT_MAX_ENTRIES);
+  }
+
+  JupiterClient delegate();
+
+  long hits();
+
+  long misses();
+
+  long evictions();
+
+  int size();
+
+  long highestContextSlot();
+
+  void invalidateAll();
+}
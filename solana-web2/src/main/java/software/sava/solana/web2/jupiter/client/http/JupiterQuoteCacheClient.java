@@ -0,0 +1,244 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.LazyJupiterQuote;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+final class JupiterQuoteCacheClient extends DelegatingJupiterClient implements JupiterQuoteCache {
+
+  private final long timeToLiveNanos;
+  private final long maxSlotAge;
+  private final ReentrantLock lock;
+  private final LinkedHashMap<String, Entry> cache;
+  private final AtomicLong highestContextSlot;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+
+  JupiterQuoteCacheClient(final JupiterClient delegate,
+                          final Duration timeToLive,
+                          final long maxSlotAge,
+                          final int maxEntries) {
+    super(delegate);
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    }
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.maxSlotAge = maxSlotAge;
+    this.lock = new ReentrantLock();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.evictions = new LongAdder();
+    this.highestContextSlot = new AtomicLong();
+    this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1_024), 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+        if (size() > maxEntries) {
+          evictions.increment();
+          return true;
+        } else {
+          return false;
+        }
+      }
+    };
+  }
+
+  // Exactly one of quote or lazyQuote is set, both variants share the same cache slot for a query.
+  private record Entry(JupiterQuote quote, LazyJupiterQuote lazyQuote, long contextSlot, long expiresAt) {
+
+    private JupiterQuote materialize() {
+      return quote == null ? lazyQuote.quote() : quote;
+    }
+
+    private LazyJupiterQuote lazy() {
+      return lazyQuote == null ? LazyJupiterQuote.fromQuote(quote) : lazyQuote;
+    }
+  }
+
+  static String normalizeQuery(final String query) {
+    final var params = query.split("&");
+    if (params.length < 2) {
+      return query;
+    }
+    Arrays.sort(params);
+    return String.join("&", params);
+  }
+
+  static String normalizeQuery(final BigInteger amount, final String query) {
+    return normalizeQuery("amount=" + amount + '&' + query);
+  }
+
+  private boolean isFresh(final Entry entry, final long now) {
+    return now - entry.expiresAt < 0
+        && highestContextSlot.get() - entry.contextSlot <= maxSlotAge;
+  }
+
+  private Entry lookup(final String key) {
+    final long now = System.nanoTime();
+    lock.lock();
+    try {
+      final var entry = cache.get(key);
+      if (entry == null) {
+        return null;
+      } else if (isFresh(entry, now)) {
+        return entry;
+      } else {
+        cache.remove(key);
+        evictions.increment();
+        return null;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void store(final String key, final JupiterQuote quote, final LazyJupiterQuote lazyQuote) {
+    final long contextSlot = quote == null ? lazyQuote.contextSlot() : quote.contextSlot();
+    highestContextSlot.accumulateAndGet(contextSlot, Math::max);
+    final var entry = new Entry(quote, lazyQuote, contextSlot, System.nanoTime() + timeToLiveNanos);
+    lock.lock();
+    try {
+      cache.put(key, entry);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private CompletableFuture<JupiterQuote> getQuote(final String key,
+                                                   final Supplier<CompletableFuture<JupiterQuote>> fetchQuote) {
+    final var cached = lookup(key);
+    if (cached != null) {
+      hits.increment();
+      return CompletableFuture.completedFuture(cached.materialize());
+    }
+    misses.increment();
+    return fetchQuote.get().thenApply(quote -> {
+      store(key, quote, null);
+      return quote;
+    });
+  }
+
+  private CompletableFuture<LazyJupiterQuote> getLazyQuote(final String key,
+                                                           final Supplier<CompletableFuture<LazyJupiterQuote>> fetchQuote) {
+    final var cached = lookup(key);
+    if (cached != null) {
+      hits.increment();
+      return CompletableFuture.completedFuture(cached.lazy());
+    }
+    misses.increment();
+    return fetchQuote.get().thenApply(lazyQuote -> {
+      store(key, null, lazyQuote);
+      return lazyQuote;
+    });
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount, final String query) {
+    return getQuote(normalizeQuery(amount, query), () -> delegate.getQuote(amount, query));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query) {
+    return getQuote(normalizeQuery(query), () -> delegate.getQuote(query));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount,
+                                                  final String query,
+                                                  final Duration requestTimeout) {
+    return getQuote(normalizeQuery(amount, query), () -> delegate.getQuote(amount, query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query, final Duration requestTimeout) {
+    return getQuote(normalizeQuery(query), () -> delegate.getQuote(query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps) {
+    return getQuote(template.serialize(amount, slippageBps));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps,
+                                                  final Duration requestTimeout) {
+    return getQuote(template.serialize(amount, slippageBps), requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount, final String query) {
+    return getLazyQuote(normalizeQuery(amount, query), () -> delegate.getLazyQuote(amount, query));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query) {
+    return getLazyQuote(normalizeQuery(query), () -> delegate.getLazyQuote(query));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount,
+                                                          final String query,
+                                                          final Duration requestTimeout) {
+    return getLazyQuote(normalizeQuery(amount, query), () -> delegate.getLazyQuote(amount, query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query, final Duration requestTimeout) {
+    return getLazyQuote(normalizeQuery(query), () -> delegate.getLazyQuote(query, requestTimeout));
+  }
+
+  @Override
+  public long hits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return cache.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long highestContextSlot() {
+    return highestContextSlot.get();
+  }
+
+  @Override
+  public void invalidateAll() {
+    lock.lock();
+    try {
+      cache.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
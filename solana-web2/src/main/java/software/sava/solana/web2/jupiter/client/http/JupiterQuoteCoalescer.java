@@ -0,0 +1,27 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+
+import java.util.Map;
+
+public interface JupiterQuoteCoalescer extends JupiterClient {
+
+  static JupiterQuoteCoalescer createCoalescer(final JupiterClient delegate) {
+    return new JupiterQuoteCoalescingClient(delegate);
+  }
+
+  JupiterClient delegate();
+
+  long requests();
+
+  long coalesced();
+
+  long coalesced(final PublicKey inputMint, final PublicKey outputMint);
+
+  // Keyed by "inputMint/outputMint", queries without both mints are only counted in coalesced().
+  Map<String, Long> coalescedByPair();
+
+  int inFlight();
+
+  void resetMetrics();
+}
@@ -0,0 +1,210 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.QuoteTemplate;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.LazyJupiterQuote;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+final class JupiterQuoteCoalescingClient extends DelegatingJupiterClient implements JupiterQuoteCoalescer {
+
+  private final ConcurrentHashMap<String, CompletableFuture<JupiterQuote>> inFlight;
+  private final ConcurrentHashMap<String, CompletableFuture<LazyJupiterQuote>> lazyInFlight;
+  private final ConcurrentHashMap<String, LongAdder> coalescedByPair;
+  private final LongAdder requests;
+  private final LongAdder coalesced;
+
+  JupiterQuoteCoalescingClient(final JupiterClient delegate) {
+    super(delegate);
+    this.inFlight = new ConcurrentHashMap<>();
+    this.lazyInFlight = new ConcurrentHashMap<>();
+    this.coalescedByPair = new ConcurrentHashMap<>();
+    this.requests = new LongAdder();
+    this.coalesced = new LongAdder();
+  }
+
+  // Keys use the same parameter order normalization as the quote cache so that equal requests spelled differently
+  // share a request, callers with different timeouts are kept apart so that none inherits a shorter deadline.
+  private static String key(final String query) {
+    return JupiterQuoteCacheClient.normalizeQuery(query);
+  }
+
+  private static String key(final BigInteger amount, final String query) {
+    return JupiterQuoteCacheClient.normalizeQuery(amount, query);
+  }
+
+  private static String key(final String normalizedQuery, final Duration requestTimeout) {
+    return normalizedQuery + "#timeout=" + requestTimeout.toNanos();
+  }
+
+  private static String queryParam(final String query, final String name) {
+    int from = 0;
+    for (; ; ) {
+      final int index = query.indexOf(name, from);
+      if (index < 0) {
+        return null;
+      }
+      final int valueStart = index + name.length();
+      if ((index == 0 || query.charAt(index - 1) == '&')
+          && valueStart < query.length() && query.charAt(valueStart) == '=') {
+        final int valueEnd = query.indexOf('&', valueStart);
+        return query.substring(valueStart + 1, valueEnd < 0 ? query.length() : valueEnd);
+      }
+      from = valueStart;
+    }
+  }
+
+  private static String pairKey(final String inputMint, final String outputMint) {
+    return inputMint + '/' + outputMint;
+  }
+
+  // Per pair rather than per query, amounts vary on every request and would grow the breakdown without bound.
+  private static String pairKey(final String query) {
+    final var inputMint = queryParam(query, "inputMint");
+    final var outputMint = queryParam(query, "outputMint");
+    return inputMint == null || outputMint == null ? null : pairKey(inputMint, outputMint);
+  }
+
+  private <T> CompletableFuture<T> coalesce(final ConcurrentHashMap<String, CompletableFuture<T>> inFlight,
+                                            final String key,
+                                            final String query,
+                                            final Supplier<CompletableFuture<T>> fetchQuote) {
+    final var shared = new CompletableFuture<T>();
+    final var existing = inFlight.putIfAbsent(key, shared);
+    if (existing != null) {
+      coalesced.increment();
+      final var pairKey = pairKey(query);
+      if (pairKey != null) {
+        coalescedByPair.computeIfAbsent(pairKey, k -> new LongAdder()).increment();
+      }
+      // Callers receive a copy so that cancelling one of them does not cancel the shared request.
+      return existing.copy();
+    }
+    requests.increment();
+    try {
+      fetchQuote.get().whenComplete((quote, throwable) -> {
+        inFlight.remove(key, shared);
+        if (throwable == null) {
+          shared.complete(quote);
+        } else {
+          shared.completeExceptionally(throwable);
+        }
+      });
+    } catch (final RuntimeException ex) {
+      inFlight.remove(key, shared);
+      shared.completeExceptionally(ex);
+    }
+    return shared.copy();
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount, final String query) {
+    return coalesce(inFlight, key(amount, query), query, () -> delegate.getQuote(amount, query));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query) {
+    return coalesce(inFlight, key(query), query, () -> delegate.getQuote(query));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final BigInteger amount,
+                                                  final String query,
+                                                  final Duration requestTimeout) {
+    return coalesce(
+        inFlight, key(key(amount, query), requestTimeout), query,
+        () -> delegate.getQuote(amount, query, requestTimeout)
+    );
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final String query, final Duration requestTimeout) {
+    return coalesce(inFlight, key(key(query), requestTimeout), query, () -> delegate.getQuote(query, requestTimeout));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps) {
+    return getQuote(template.serialize(amount, slippageBps));
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final QuoteTemplate template,
+                                                  final long amount,
+                                                  final int slippageBps,
+                                                  final Duration requestTimeout) {
+    return getQuote(template.serialize(amount, slippageBps), requestTimeout);
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount, final String query) {
+    return coalesce(lazyInFlight, key(amount, query), query, () -> delegate.getLazyQuote(amount, query));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query) {
+    return coalesce(lazyInFlight, key(query), query, () -> delegate.getLazyQuote(query));
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final BigInteger amount,
+                                                          final String query,
+                                                          final Duration requestTimeout) {
+    return coalesce(
+        lazyInFlight, key(key(amount, query), requestTimeout), query,
+        () -> delegate.getLazyQuote(amount, query, requestTimeout)
+    );
+  }
+
+  @Override
+  public CompletableFuture<LazyJupiterQuote> getLazyQuote(final String query, final Duration requestTimeout) {
+    return coalesce(
+        lazyInFlight, key(key(query), requestTimeout), query,
+        () -> delegate.getLazyQuote(query, requestTimeout)
+    );
+  }
+
+  @Override
+  public long requests() {
+    return requests.sum();
+  }
+
+  @Override
+  public long coalesced() {
+    return coalesced.sum();
+  }
+
+  @Override
+  public long coalesced(final PublicKey inputMint, final PublicKey outputMint) {
+    final var count = coalescedByPair.get(pairKey(inputMint.toBase58(), outputMint.toBase58()));
+    return count == null ? 0 : count.sum();
+  }
+
+  @Override
+  public Map<String, Long> coalescedByPair() {
+    final var snapshot = HashMap.<String, Long>newHashMap(coalescedByPair.size());
+    coalescedByPair.forEach((pair, count) -> snapshot.put(pair, count.sum()));
+    return snapshot;
+  }
+
+  @Override
+  public int inFlight() {
+    return inFlight.size() + lazyInFlight.size();
+  }
+
+  @Override
+  public void resetMetrics() {
+    coalescedByPair.clear();
+    requests.reset();
+    coalesced.reset();
+  }
+}
@@ -0,0 +1,248 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class JupiterQuotePollingPublisher implements JupiterQuotePublisher {
+
+  private final JupiterClient jupiterClient;
+  private final PairState[] pairs;
+  private final ScheduledExecutorService scheduler;
+  private final SubmissionPublisher<JupiterQuoteUpdate> publisher;
+  private final long tickNanos;
+  private final long minPollNanos;
+  private final long maxPollNanos;
+  private final int changeThresholdBps;
+  private final LongAdder requestsSent;
+  private final LongAdder updatesPublished;
+  private final LongAdder unchangedQuotes;
+  private final LongAdder staleQuotesDropped;
+  private final LongAdder updatesDropped;
+  private final LongAdder failedRequests;
+  private volatile ScheduledFuture<?> pollTask;
+
+  JupiterQuotePollingPublisher(final JupiterClient jupiterClient,
+                               final Collection<JupiterQuoteRequest> quoteRequests,
+                               final ScheduledExecutorService scheduler,
+                               final Executor subscriberExecutor,
+                               final int subscriberBuffer,
+                               final int maxRequestsPerSecond,
+                               final Duration minPollInterval,
+                               final Duration maxPollInterval,
+                               final int changeThresholdBps) {
+    if (maxRequestsPerSecond <= 0 || maxRequestsPerSecond > TimeUnit.SECONDS.toNanos(1)) {
+      throw new IllegalArgumentException(String.format(
+          "maxRequestsPerSecond must be in [1, %d]: %d", TimeUnit.SECONDS.toNanos(1), maxRequestsPerSecond
+      ));
+    }
+    if (minPollInterval.compareTo(maxPollInterval) > 0) {
+      throw new IllegalArgumentException(String.format(
+          "minPollInterval %s must not exceed maxPollInterval %s", minPollInterval, maxPollInterval
+      ));
+    }
+    this.jupiterClient = jupiterClient;
+    this.scheduler = scheduler;
+    this.publisher = new SubmissionPublisher<>(subscriberExecutor, subscriberBuffer);
+    this.tickNanos = TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond;
+    this.minPollNanos = minPollInterval.toNanos();
+    this.maxPollNanos = maxPollInterval.toNanos();
+    this.changeThresholdBps = changeThresholdBps;
+    final long now = System.nanoTime();
+    this.pairs = quoteRequests.stream()
+        .map(quoteRequest -> new PairState(quoteRequest, quoteRequest.serialize(), minPollNanos, now))
+        .toArray(PairState[]::new);
+    this.requestsSent = new LongAdder();
+    this.updatesPublished = new LongAdder();
+    this.unchangedQuotes = new LongAdder();
+    this.staleQuotesDropped = new LongAdder();
+    this.updatesDropped = new LongAdder();
+    this.failedRequests = new LongAdder();
+  }
+
+  private static final class PairState {
+
+    private final JupiterQuoteRequest request;
+    private final String query;
+    private volatile boolean inFlight;
+    private volatile long nextPollAt;
+    private volatile long intervalNanos;
+    private long highestContextSlot;
+    private JupiterQuote lastObserved;
+    private JupiterQuote lastPublished;
+
+    private PairState(final JupiterQuoteRequest request,
+                      final String query,
+                      final long intervalNanos,
+                      final long nextPollAt) {
+      this.request = request;
+      this.query = query;
+      this.intervalNanos = intervalNanos;
+      this.nextPollAt = nextPollAt;
+    }
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super JupiterQuoteUpdate> subscriber) {
+    publisher.subscribe(subscriber);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (pollTask == null && !publisher.isClosed()) {
+      this.pollTask = scheduler.scheduleAtFixedRate(this::poll, 0, tickNanos, NANOSECONDS);
+    }
+  }
+
+  private void poll() {
+    // Each tick spends at most one request from the global budget, on the most overdue pair.
+    final long now = System.nanoTime();
+    PairState due = null;
+    for (final var pair : pairs) {
+      if (!pair.inFlight && now - pair.nextPollAt >= 0 && (due == null || pair.nextPollAt - due.nextPollAt < 0)) {
+        due = pair;
+      }
+    }
+    if (due == null) {
+      return;
+    }
+    final var pair = due;
+    pair.inFlight = true;
+    requestsSent.increment();
+    try {
+      jupiterClient.getQuote(pair.query).whenComplete((quote, throwable) -> onQuote(pair, quote, throwable));
+    } catch (final RuntimeException ex) {
+      onQuote(pair, null, ex);
+    }
+  }
+
+  private boolean exceedsThreshold(final long previous, final long next) {
+    if (previous == 0) {
+      return next != 0;
+    }
+    return (Math.abs(next - previous) / (double) previous) * 10_000 >= changeThresholdBps;
+  }
+
+  static boolean routeChanged(final JupiterQuote previous, final JupiterQuote next) {
+    final var previousRoute = previous.routePlan();
+    final var nextRoute = next.routePlan();
+    if (previousRoute == null || nextRoute == null) {
+      return previousRoute != nextRoute;
+    }
+    final int numSteps = nextRoute.size();
+    if (previousRoute.size() != numSteps) {
+      return true;
+    }
+    for (int i = 0; i < numSteps; ++i) {
+      final var previousStep = previousRoute.get(i);
+      final var nextStep = nextRoute.get(i);
+      if (previousStep.percent() != nextStep.percent() || !previousStep.ammKey().equals(nextStep.ammKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void onQuote(final PairState pair, final JupiterQuote quote, final Throwable throwable) {
+    try {
+      if (throwable != null) {
+        failedRequests.increment();
+        return;
+      }
+      final JupiterQuoteUpdate update;
+      synchronized (pair) {
+        if (quote.contextSlot() < pair.highestContextSlot) {
+          staleQuotesDropped.increment();
+          return;
+        }
+        pair.highestContextSlot = quote.contextSlot();
+
+        final var lastObserved = pair.lastObserved;
+        pair.lastObserved = quote;
+        if (lastObserved != null && exceedsThreshold(lastObserved.outAmount(), quote.outAmount())) {
+          pair.intervalNanos = Math.max(minPollNanos, pair.intervalNanos >> 1);
+        } else {
+          pair.intervalNanos = Math.min(maxPollNanos, pair.intervalNanos + (pair.intervalNanos >> 2));
+        }
+
+        final var previous = pair.lastPublished;
+        final boolean routeChanged = previous == null || routeChanged(previous, quote);
+        if (!routeChanged && !exceedsThreshold(previous.outAmount(), quote.outAmount())) {
+          unchangedQuotes.increment();
+          return;
+        }
+        pair.lastPublished = quote;
+        update = new JupiterQuoteUpdate(pair.request, quote, previous, routeChanged, Duration.ofNanos(pair.intervalNanos));
+      }
+      if (!publisher.isClosed()) {
+        // Slow subscribers drop intermediate updates rather than stalling the poll loop, the next update supersedes it.
+        final int lag = publisher.offer(update, (subscriber, dropped) -> {
+          updatesDropped.increment();
+          return false;
+        });
+        // A negative lag is the number of subscribers the update was dropped for.
+        if (lag >= 0 || -lag < publisher.getNumberOfSubscribers()) {
+          updatesPublished.increment();
+        }
+      }
+    } finally {
+      pair.nextPollAt = System.nanoTime() + pair.intervalNanos;
+      pair.inFlight = false;
+    }
+  }
+
+  @Override
+  public Duration pollInterval(final JupiterQuoteRequest quoteRequest) {
+    for (final var pair : pairs) {
+      if (pair.request.equals(quoteRequest)) {
+        return Duration.ofNanos(pair.intervalNanos);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public long requestsSent() {
+    return requestsSent.sum();
+  }
+
+  @Override
+  public long updatesPublished() {
+    return updatesPublished.sum();
+  }
+
+  @Override
+  public long unchangedQuotes() {
+    return unchangedQuotes.sum();
+  }
+
+  @Override
+  public long staleQuotesDropped() {
+    return staleQuotesDropped.sum();
+  }
+
+  @Override
+  public long updatesDropped() {
+    return updatesDropped.sum();
+  }
+
+  @Override
+  public long failedRequests() {
+    return failedRequests.sum();
+  }
+
+  @Override
+  public synchronized void close() {
+    final var pollTask = this.pollTask;
+    if (pollTask != null) {
+      pollTask.cancel(false);
+    }
+    publisher.close();
+  }
+}
@@ -0,0 +1,76 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
+public interface JupiterQuotePublisher extends Flow.Publisher<JupiterQuoteUpdate>, AutoCloseable {
+
+  int DEFAULT_SUBSCRIBER_BUFFER = 256;
+
+  static JupiterQuotePublisher createPublisher(final JupiterClient jupiterClient,
+                                               final Collection<JupiterQuoteRequest> quoteRequests,
+                                               final ScheduledExecutorService scheduler,
+                                               final Executor subscriberExecutor,
+                                               final int subscriberBuffer,
+                                               final int maxRequestsPerSecond,
+                                               final Duration minPollInterval,
+                                               final Duration maxPollInterval,
+                                               final int changeThresholdBps) {
+    return new JupiterQuotePollingPublisher(
+        jupiterClient,
+        quoteRequests,
+        scheduler,
+        subscriberExecutor,
+        subscriberBuffer,
+        maxRequestsPerSecond,
+        minPollInterval,
+        maxPollInterval,
+        changeThresholdBps
+    );
+  }
+
+  static JupiterQuotePublisher createPublisher(final JupiterClient jupiterClient,
+                                               final Collection<JupiterQuoteRequest> quoteRequests,
+                                               final ScheduledExecutorService scheduler,
+                                               final int maxRequestsPerSecond,
+                                               final Duration minPollInterval,
+                                               final Duration maxPollInterval,
+                                               final int changeThresholdBps) {
+    return createPublisher(
+        jupiterClient,
+        quoteRequests,
+        scheduler,
+        ForkJoinPool.commonPool(),
+        DEFAULT_SUBSCRIBER_BUFFER,
+        maxRequestsPerSecond,
+        minPollInterval,
+        maxPollInterval,
+        changeThresholdBps
+    );
+  }
+
+  void start();
+
+  Duration pollInterval(final JupiterQuoteRequest quoteRequest);
+
+  long requestsSent();
+
+  long updatesPublished();
+
+  long unchangedQuotes();
+
+  long staleQuotesDropped();
+
+  long updatesDropped();
+
+  long failedRequests();
+
+  @Override
+  void close();
+}
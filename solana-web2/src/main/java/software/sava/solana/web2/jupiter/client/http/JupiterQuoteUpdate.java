@@ -0,0 +1,17 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+
+import java.time.Duration;
+
+public record JupiterQuoteUpdate(JupiterQuoteRequest request,
+                                 JupiterQuote quote,
+                                 JupiterQuote previous,
+                                 boolean routeChanged,
+                                 Duration pollInterval) {
+
+  public long outAmountDelta() {
+    return previous == null ? quote.outAmount() : quote.outAmount() - previous.outAmount();
+  }
+}
@@ -0,0 +1,53 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.lookup.AddressLookupTable;
+import software.sava.solana.web2.helius.client.http.HeliusClient;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterSwapRequestPrefix;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public interface JupiterSwapPipeline {
+
+  static JupiterSwapPipeline createPipeline(final JupiterClient jupiterClient,
+                                            final Function<PublicKey, CompletableFuture<AddressLookupTable>> lookupTableLoader,
+                                            final HeliusClient heliusClient) {
+    return new JupiterSwapPipelineExecutor(jupiterClient, lookupTableLoader, heliusClient);
+  }
+
+  static JupiterSwapPipeline createPipeline(final JupiterClient jupiterClient,
+                                            final Function<PublicKey, CompletableFuture<AddressLookupTable>> lookupTableLoader) {
+    return createPipeline(jupiterClient, lookupTableLoader, null);
+  }
+
+  JupiterClient jupiterClient();
+
+  HeliusClient heliusClient();
+
+  // The Helius estimate is only reported in the result and costs an RPC call, so it is opt-in per execution.
+  CompletableFuture<JupiterSwapPipelineResult> execute(final JupiterQuoteRequest quoteRequest,
+                                                       final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                       final Duration requestTimeout,
+                                                       final boolean estimatePriorityFees);
+
+  default CompletableFuture<JupiterSwapPipelineResult> execute(final JupiterQuoteRequest quoteRequest,
+                                                               final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                               final Duration requestTimeout) {
+    return execute(quoteRequest, swapRequestPrefix, requestTimeout, false);
+  }
+
+  CompletableFuture<JupiterSwapPipelineResult> execute(final JupiterQuote quote,
+                                                       final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                       final Duration requestTimeout,
+                                                       final boolean estimatePriorityFees);
+
+  default CompletableFuture<JupiterSwapPipelineResult> execute(final JupiterQuote quote,
+                                                               final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                               final Duration requestTimeout) {
+    return execute(quote, swapRequestPrefix, requestTimeout, false);
+  }
+}
@@ -0,0 +1,170 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.lookup.AddressLookupTable;
+import software.sava.core.tx.Instruction;
+import software.sava.solana.web2.helius.client.http.HeliusClient;
+import software.sava.solana.web2.helius.client.http.response.PriorityFeesEstimates;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterSwapRequestPrefix;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterSwapInstructions;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class JupiterSwapPipelineExecutor implements JupiterSwapPipeline {
+
+  private final JupiterClient jupiterClient;
+  private final Function<PublicKey, CompletableFuture<AddressLookupTable>> lookupTableLoader;
+  private final HeliusClient heliusClient;
+
+  JupiterSwapPipelineExecutor(final JupiterClient jupiterClient,
+                              final Function<PublicKey, CompletableFuture<AddressLookupTable>> lookupTableLoader,
+                              final HeliusClient heliusClient) {
+    this.jupiterClient = jupiterClient;
+    this.lookupTableLoader = lookupTableLoader;
+    this.heliusClient = heliusClient;
+  }
+
+  @Override
+  public JupiterClient jupiterClient() {
+    return jupiterClient;
+  }
+
+  @Override
+  public HeliusClient heliusClient() {
+    return heliusClient;
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapPipelineResult> execute(final JupiterQuoteRequest quoteRequest,
+                                                              final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                              final Duration requestTimeout,
+                                                              final boolean estimatePriorityFees) {
+    final long start = System.nanoTime();
+    return jupiterClient.getQuote(quoteRequest, requestTimeout).thenCompose(quote -> execute(
+        start, System.nanoTime() - start, quote, swapRequestPrefix, requestTimeout, estimatePriorityFees
+    ));
+  }
+
+  @Override
+  public CompletableFuture<JupiterSwapPipelineResult> execute(final JupiterQuote quote,
+                                                              final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                              final Duration requestTimeout,
+                                                              final boolean estimatePriorityFees) {
+    return execute(System.nanoTime(), 0, quote, swapRequestPrefix, requestTimeout, estimatePriorityFees);
+  }
+
+  private CompletableFuture<JupiterSwapPipelineResult> execute(final long start,
+                                                               final long quoteNanos,
+                                                               final JupiterQuote quote,
+                                                               final JupiterSwapRequestPrefix swapRequestPrefix,
+                                                               final Duration requestTimeout,
+                                                               final boolean estimatePriorityFees) {
+    final long swapInstructionsStart = System.nanoTime();
+    return jupiterClient.swapInstructions(swapRequestPrefix, quote, requestTimeout).thenCompose(json -> {
+      final long parseStart = System.nanoTime();
+      final long swapInstructionsNanos = parseStart - swapInstructionsStart;
+
+      // A pre-scan for only the table addresses lets the table loads proceed while the instructions are parsed.
+      final var lookupTables = loadLookupTables(
+          JupiterSwapInstructions.parseAddressLookupTableAddresses(JsonIterator.parse(json)),
+          requestTimeout
+      );
+      final var swapInstructions = JupiterSwapInstructions.parseInstructions(JsonIterator.parse(json));
+      final long parseNanos = System.nanoTime() - parseStart;
+
+      final var priorityFees = estimatePriorityFees
+          ? estimatePriorityFees(swapInstructions, requestTimeout)
+          : CompletableFuture.completedFuture(new Timed<PriorityFeesEstimates>(null, 0));
+      return lookupTables.thenCombine(priorityFees, (tables, fees) -> {
+        final long assembleStart = System.nanoTime();
+        final var transaction = swapInstructions.serializeTransaction(tables.value());
+        final long end = System.nanoTime();
+        return new JupiterSwapPipelineResult(
+            quote,
+            swapInstructions,
+            transaction,
+            fees.value(),
+            quoteNanos,
+            swapInstructionsNanos,
+            parseNanos,
+            tables.nanos(),
+            fees.nanos(),
+            end - assembleStart,
+            end - start
+        );
+      });
+    });
+  }
+
+  private record Timed<T>(T value, long nanos) {
+  }
+
+  private static <T> CompletableFuture<Timed<T>> timed(final CompletableFuture<T> future) {
+    final long start = System.nanoTime();
+    return future.thenApply(value -> new Timed<>(value, System.nanoTime() - start));
+  }
+
+  private CompletableFuture<Timed<AddressLookupTable[]>> loadLookupTables(final List<PublicKey> tableAddresses,
+                                                                          final Duration requestTimeout) {
+    final int numTables = tableAddresses == null ? 0 : tableAddresses.size();
+    if (numTables == 0) {
+      return CompletableFuture.completedFuture(new Timed<>(new AddressLookupTable[0], 0));
+    }
+    @SuppressWarnings("unchecked")
+    final CompletableFuture<AddressLookupTable>[] loads = new CompletableFuture[numTables];
+    for (int i = 0; i < numTables; ++i) {
+      loads[i] = lookupTableLoader.apply(tableAddresses.get(i));
+    }
+    return timed(CompletableFuture.allOf(loads).thenApply(ignored -> {
+      final var tables = new AddressLookupTable[numTables];
+      for (int i = 0; i < numTables; ++i) {
+        tables[i] = loads[i].join();
+      }
+      return tables;
+    }).orTimeout(requestTimeout.toNanos(), NANOSECONDS));
+  }
+
+  private static List<String> writableAccounts(final JupiterSwapInstructions swapInstructions) {
+    final var writable = new LinkedHashSet<String>();
+    final var instructions = new ArrayList<Instruction>(swapInstructions.numInstructions());
+    if (swapInstructions.tokenLedgerInstruction() != null) {
+      instructions.add(swapInstructions.tokenLedgerInstruction());
+    }
+    instructions.addAll(swapInstructions.setupInstructions());
+    instructions.add(swapInstructions.swapInstruction());
+    if (swapInstructions.cleanupInstruction() != null) {
+      instructions.add(swapInstructions.cleanupInstruction());
+    }
+    instructions.addAll(swapInstructions.otherInstructions());
+    for (final var instruction : instructions) {
+      for (final var account : instruction.accounts()) {
+        if (account.write()) {
+          writable.add(account.publicKey().toBase58());
+        }
+      }
+    }
+    return List.copyOf(writable);
+  }
+
+  private CompletableFuture<Timed<PriorityFeesEstimates>> estimatePriorityFees(final JupiterSwapInstructions swapInstructions,
+                                                                               final Duration requestTimeout) {
+    if (heliusClient == null) {
+      return CompletableFuture.completedFuture(new Timed<>(null, 0));
+    }
+    // The estimate is advisory, a failed Helius call must not fail the swap.
+    final long start = System.nanoTime();
+    return timed(heliusClient.getPriorityFeeEstimate(writableAccounts(swapInstructions))
+        .orTimeout(requestTimeout.toNanos(), NANOSECONDS))
+        .exceptionally(ignored -> new Timed<>(null, System.nanoTime() - start));
+  }
+}
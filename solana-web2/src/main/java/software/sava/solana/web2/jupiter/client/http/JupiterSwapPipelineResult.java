@@ -0,0 +1,51 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.tx.Transaction;
+import software.sava.solana.web2.helius.client.http.response.PriorityFeesEstimates;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterSwapInstructions;
+
+import java.time.Duration;
+
+// priorityFees is informational and null unless requested and available,
+// the transaction keeps the compute unit price from Jupiter's compute budget instructions.
+public record JupiterSwapPipelineResult(JupiterQuote quote,
+                                        JupiterSwapInstructions swapInstructions,
+                                        Transaction transaction,
+                                        PriorityFeesEstimates priorityFees,
+                                        long quoteNanos,
+                                        long swapInstructionsNanos,
+                                        long parseNanos,
+                                        long lookupTablesNanos,
+                                        long priorityFeesNanos,
+                                        long assembleNanos,
+                                        long totalNanos) {
+
+  public Duration quoteLatency() {
+    return Duration.ofNanos(quoteNanos);
+  }
+
+  public Duration swapInstructionsLatency() {
+    return Duration.ofNanos(swapInstructionsNanos);
+  }
+
+  public Duration parseLatency() {
+    return Duration.ofNanos(parseNanos);
+  }
+
+  public Duration lookupTablesLatency() {
+    return Duration.ofNanos(lookupTablesNanos);
+  }
+
+  public Duration priorityFeesLatency() {
+    return Duration.ofNanos(priorityFeesNanos);
+  }
+
+  public Duration assembleLatency() {
+    return Duration.ofNanos(assembleNanos);
+  }
+
+  public Duration totalLatency() {
+    return Duration.ofNanos(totalNanos);
+  }
+}
@@ -0,0 +1,48 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterTokenV2;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+public interface JupiterTokenBatcher {
+
+  Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+  int DEFAULT_MAX_QUERY_LENGTH = 4_096;
+  int DEFAULT_MAX_BATCH_SIZE = 100;
+
+  static JupiterTokenBatcher createBatcher(final JupiterClient jupiterClient,
+                                           final ScheduledExecutorService scheduler,
+                                           final Duration window,
+                                           final int maxQueryLength,
+                                           final int maxBatchSize) {
+    return new JupiterTokenMicroBatcher(jupiterClient, scheduler, window, maxQueryLength, maxBatchSize);
+  }
+
+  static JupiterTokenBatcher createBatcher(final JupiterClient jupiterClient,
+                                           final ScheduledExecutorService scheduler) {
+    return createBatcher(jupiterClient, scheduler, DEFAULT_WINDOW, DEFAULT_MAX_QUERY_LENGTH, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  CompletableFuture<JupiterTokenV2> token(final PublicKey mint);
+
+  void flush();
+
+  long lookups();
+
+  long deduplicated();
+
+  long batchesSent();
+
+  long failedBatches();
+
+  int lastBatchSize();
+
+  int maxObservedBatchSize();
+
+  double averageBatchSize();
+
+  Duration batchLatency();
+}
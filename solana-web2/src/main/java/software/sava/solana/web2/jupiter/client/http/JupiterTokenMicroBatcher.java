@@ -0,0 +1,193 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterTokenV2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class JupiterTokenMicroBatcher implements JupiterTokenBatcher {
+
+  private static final int LATENCY_SAMPLES = 256;
+  private static final double LATENCY_PERCENTILE = 0.95;
+
+  private final JupiterClient jupiterClient;
+  private final ScheduledExecutorService scheduler;
+  private final long windowNanos;
+  private final int maxQueryLength;
+  private final int maxBatchSize;
+  private final ConcurrentHashMap<PublicKey, CompletableFuture<JupiterTokenV2>> pending;
+  private final AtomicBoolean flushScheduled;
+  private final LatencyTracker batchLatency;
+  private final LongAdder lookups;
+  private final LongAdder deduplicated;
+  private final LongAdder batchesSent;
+  private final LongAdder batchedMints;
+  private final LongAdder failedBatches;
+  private final AtomicInteger lastBatchSize;
+  private final AtomicInteger maxObservedBatchSize;
+
+  JupiterTokenMicroBatcher(final JupiterClient jupiterClient,
+                           final ScheduledExecutorService scheduler,
+                           final Duration window,
+                           final int maxQueryLength,
+                           final int maxBatchSize) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+    }
+    this.jupiterClient = jupiterClient;
+    this.scheduler = scheduler;
+    this.windowNanos = window.toNanos();
+    this.maxQueryLength = maxQueryLength;
+    this.maxBatchSize = maxBatchSize;
+    this.pending = new ConcurrentHashMap<>();
+    this.flushScheduled = new AtomicBoolean();
+    this.batchLatency = new LatencyTracker(LATENCY_SAMPLES, LATENCY_PERCENTILE);
+    this.lookups = new LongAdder();
+    this.deduplicated = new LongAdder();
+    this.batchesSent = new LongAdder();
+    this.batchedMints = new LongAdder();
+    this.failedBatches = new LongAdder();
+    this.lastBatchSize = new AtomicInteger();
+    this.maxObservedBatchSize = new AtomicInteger();
+  }
+
+  @Override
+  public CompletableFuture<JupiterTokenV2> token(final PublicKey mint) {
+    lookups.increment();
+    final var future = new CompletableFuture<JupiterTokenV2>();
+    final var existing = pending.putIfAbsent(mint, future);
+    if (existing != null) {
+      deduplicated.increment();
+      return existing.copy();
+    }
+    if (flushScheduled.compareAndSet(false, true)) {
+      scheduler.schedule(this::flush, windowNanos, NANOSECONDS);
+    }
+    return future.copy();
+  }
+
+  @Override
+  public void flush() {
+    flushScheduled.set(false);
+    if (pending.isEmpty()) {
+      return;
+    }
+    final var mints = new ArrayList<PublicKey>(maxBatchSize);
+    final var encoded = new ArrayList<String>(maxBatchSize);
+    final var futures = new ArrayList<CompletableFuture<JupiterTokenV2>>(maxBatchSize);
+    int queryLength = 0;
+    for (final var mint : pending.keySet()) {
+      final var future = pending.remove(mint);
+      if (future == null) {
+        continue;
+      }
+      final var base58 = mint.toBase58();
+      final int length = encoded.isEmpty() ? base58.length() : base58.length() + 1;
+      if (!encoded.isEmpty() && (encoded.size() == maxBatchSize || queryLength + length > maxQueryLength)) {
+        sendBatch(List.copyOf(mints), List.copyOf(encoded), List.copyOf(futures));
+        mints.clear();
+        encoded.clear();
+        futures.clear();
+        queryLength = base58.length();
+      } else {
+        queryLength += length;
+      }
+      mints.add(mint);
+      encoded.add(base58);
+      futures.add(future);
+    }
+    if (!encoded.isEmpty()) {
+      sendBatch(mints, encoded, futures);
+    }
+  }
+
+  private static void complete(final List<PublicKey> mints,
+                               final List<CompletableFuture<JupiterTokenV2>> futures,
+                               final Map<PublicKey, JupiterTokenV2> tokens,
+                               final Throwable throwable) {
+    for (int i = 0; i < futures.size(); ++i) {
+      if (throwable == null) {
+        futures.get(i).complete(tokens.get(mints.get(i)));
+      } else {
+        futures.get(i).completeExceptionally(throwable);
+      }
+    }
+  }
+
+  private void sendBatch(final List<PublicKey> mints,
+                         final List<String> encoded,
+                         final List<CompletableFuture<JupiterTokenV2>> futures) {
+    final int batchSize = mints.size();
+    batchesSent.increment();
+    batchedMints.add(batchSize);
+    lastBatchSize.set(batchSize);
+    maxObservedBatchSize.accumulateAndGet(batchSize, Math::max);
+    final long start = System.nanoTime();
+    try {
+      jupiterClient.queryTokens(encoded).whenComplete((tokens, throwable) -> {
+        if (throwable == null) {
+          batchLatency.record(System.nanoTime() - start);
+        } else {
+          failedBatches.increment();
+        }
+        complete(mints, futures, tokens, throwable);
+      });
+    } catch (final RuntimeException ex) {
+      failedBatches.increment();
+      complete(mints, futures, null, ex);
+    }
+  }
+
+  @Override
+  public long lookups() {
+    return lookups.sum();
+  }
+
+  @Override
+  public long deduplicated() {
+    return deduplicated.sum();
+  }
+
+  @Override
+  public long batchesSent() {
+    return batchesSent.sum();
+  }
+
+  @Override
+  public long failedBatches() {
+    return failedBatches.sum();
+  }
+
+  @Override
+  public int lastBatchSize() {
+    return lastBatchSize.get();
+  }
+
+  @Override
+  public int maxObservedBatchSize() {
+    return maxObservedBatchSize.get();
+  }
+
+  @Override
+  public double averageBatchSize() {
+    final long batches = batchesSent.sum();
+    return batches == 0 ? 0 : batchedMints.sum() / (double) batches;
+  }
+
+  @Override
+  public Duration batchLatency() {
+    final long nanos = batchLatency.percentileNanos();
+    return nanos < 0 ? null : Duration.ofNanos(nanos);
+  }
+}
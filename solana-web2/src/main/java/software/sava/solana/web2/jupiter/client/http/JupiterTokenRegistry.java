@@ -0,0 +1,114 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterTokenV2;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+public interface JupiterTokenRegistry extends AutoCloseable {
+
+  int DEFAULT_MAX_ENTRIES = 65_536;
+  int DEFAULT_REFRESH_BATCH_SIZE = 100;
+  Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMillis(250);
+  Duration DEFAULT_NOT_FOUND_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+  static JupiterTokenRegistry createRegistry(final JupiterClient jupiterClient,
+                                             final ScheduledExecutorService scheduler,
+                                             final Duration staticTimeToLive,
+                                             final Duration volatileTimeToLive,
+                                             final Duration notFoundTimeToLive,
+                                             final int maxEntries,
+                                             final int refreshBatchSize,
+                                             final Duration refreshInterval) {
+    return new JupiterTokenRegistryCache(
+        jupiterClient,
+        scheduler,
+        staticTimeToLive,
+        volatileTimeToLive,
+        notFoundTimeToLive,
+        maxEntries,
+        refreshBatchSize,
+        refreshInterval
+    );
+  }
+
+  static JupiterTokenRegistry createRegistry(final JupiterClient jupiterClient,
+                                             final ScheduledExecutorService scheduler,
+                                             final Duration staticTimeToLive,
+                                             final Duration volatileTimeToLive,
+                                             final int maxEntries,
+                                             final int refreshBatchSize,
+                                             final Duration refreshInterval) {
+    return createRegistry(
+        jupiterClient,
+        scheduler,
+        staticTimeToLive,
+        volatileTimeToLive,
+        DEFAULT_NOT_FOUND_TIME_TO_LIVE,
+        maxEntries,
+        refreshBatchSize,
+        refreshInterval
+    );
+  }
+
+  static JupiterTokenRegistry createRegistry(final JupiterClient jupiterClient,
+                                             final ScheduledExecutorService scheduler,
+                                             final Duration staticTimeToLive,
+                                             final Duration volatileTimeToLive) {
+    return createRegistry(
+        jupiterClient,
+        scheduler,
+        staticTimeToLive,
+        volatileTimeToLive,
+        DEFAULT_MAX_ENTRIES,
+        DEFAULT_REFRESH_BATCH_SIZE,
+        DEFAULT_REFRESH_INTERVAL
+    );
+  }
+
+  void start();
+
+  JupiterTokenV2 get(final PublicKey mint);
+
+  JupiterTokenV2 getStatic(final PublicKey mint);
+
+  int decimals(final PublicKey mint);
+
+  PublicKey tokenProgram(final PublicKey mint);
+
+  double usdPrice(final PublicKey mint);
+
+  CompletableFuture<JupiterTokenV2> resolve(final PublicKey mint);
+
+  CompletableFuture<Void> warm(final Collection<PublicKey> mints);
+
+  CompletableFuture<Void> warmTag(final String tag);
+
+  CompletableFuture<Void> warmRecent();
+
+  void put(final JupiterTokenV2 token);
+
+  void putAll(final Collection<JupiterTokenV2> tokens);
+
+  int size();
+
+  int pendingRefreshes();
+
+  long hits();
+
+  long staleHits();
+
+  long misses();
+
+  long evictions();
+
+  long refreshRequests();
+
+  long failedRefreshRequests();
+
+  @Override
+  void close();
+}
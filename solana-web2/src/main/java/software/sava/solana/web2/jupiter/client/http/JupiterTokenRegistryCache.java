@@ -0,0 +1,369 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterTokenV2;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class JupiterTokenRegistryCache implements JupiterTokenRegistry {
+
+  private static final System.Logger logger = System.getLogger(JupiterTokenRegistryCache.class.getName());
+
+  private final JupiterClient jupiterClient;
+  private final ScheduledExecutorService scheduler;
+  private final long staticTimeToLiveNanos;
+  private final long volatileTimeToLiveNanos;
+  private final long notFoundTimeToLiveNanos;
+  private final int maxPendingRefreshes;
+  private final int refreshBatchSize;
+  private final long refreshIntervalNanos;
+  private final ReentrantLock lock;
+  private final LinkedHashMap<PublicKey, Entry> cache;
+  private final Set<PublicKey> pendingRefresh;
+  private final ConcurrentHashMap<PublicKey, CompletableFuture<JupiterTokenV2>> inFlight;
+  private final LongAdder hits;
+  private final LongAdder staleHits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+  private final LongAdder refreshRequests;
+  private final LongAdder failedRefreshRequests;
+  private volatile ScheduledFuture<?> refreshTask;
+
+  JupiterTokenRegistryCache(final JupiterClient jupiterClient,
+                            final ScheduledExecutorService scheduler,
+                            final Duration staticTimeToLive,
+                            final Duration volatileTimeToLive,
+                            final Duration notFoundTimeToLive,
+                            final int maxEntries,
+                            final int refreshBatchSize,
+                            final Duration refreshInterval) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    }
+    if (staticTimeToLive.compareTo(volatileTimeToLive) < 0) {
+      throw new IllegalArgumentException(String.format(
+          "staticTimeToLive %s must not be shorter than volatileTimeToLive %s.",
+          staticTimeToLive, volatileTimeToLive
+      ));
+    }
+    if (refreshBatchSize <= 0) {
+      throw new IllegalArgumentException("refreshBatchSize must be positive: " + refreshBatchSize);
+    }
+    this.jupiterClient = jupiterClient;
+    this.scheduler = scheduler;
+    this.staticTimeToLiveNanos = staticTimeToLive.toNanos();
+    this.volatileTimeToLiveNanos = volatileTimeToLive.toNanos();
+    this.notFoundTimeToLiveNanos = notFoundTimeToLive.toNanos();
+    this.maxPendingRefreshes = maxEntries;
+    this.refreshBatchSize = refreshBatchSize;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+    this.lock = new ReentrantLock();
+    this.pendingRefresh = ConcurrentHashMap.newKeySet();
+    this.inFlight = new ConcurrentHashMap<>();
+    this.hits = new LongAdder();
+    this.staleHits = new LongAdder();
+    this.misses = new LongAdder();
+    this.evictions = new LongAdder();
+    this.refreshRequests = new LongAdder();
+    this.failedRefreshRequests = new LongAdder();
+    this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1_024), 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<PublicKey, Entry> eldest) {
+        if (size() > maxEntries) {
+          evictions.increment();
+          return true;
+        } else {
+          return false;
+        }
+      }
+    };
+  }
+
+  // A null token records that Jupiter did not know the mint when it was fetched.
+  private record Entry(JupiterTokenV2 token, long fetchedAt) {
+  }
+
+  private void queueRefresh(final PublicKey mint) {
+    if (pendingRefresh.size() < maxPendingRefreshes) {
+      pendingRefresh.add(mint);
+    }
+  }
+
+  private Entry lookup(final PublicKey mint) {
+    lock.lock();
+    try {
+      return cache.get(mint);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private JupiterTokenV2 get(final PublicKey mint, final long timeToLiveNanos) {
+    final var entry = lookup(mint);
+    if (entry == null) {
+      misses.increment();
+      queueRefresh(mint);
+      return null;
+    }
+    if (entry.token == null) {
+      misses.increment();
+      if (System.nanoTime() - entry.fetchedAt > notFoundTimeToLiveNanos) {
+        queueRefresh(mint);
+      }
+      return null;
+    }
+    if (System.nanoTime() - entry.fetchedAt > timeToLiveNanos) {
+      // Serve the stale token and revalidate it with the next background batch.
+      staleHits.increment();
+      queueRefresh(mint);
+    } else {
+      hits.increment();
+    }
+    return entry.token;
+  }
+
+  @Override
+  public JupiterTokenV2 get(final PublicKey mint) {
+    return get(mint, volatileTimeToLiveNanos);
+  }
+
+  @Override
+  public JupiterTokenV2 getStatic(final PublicKey mint) {
+    return get(mint, staticTimeToLiveNanos);
+  }
+
+  @Override
+  public int decimals(final PublicKey mint) {
+    final var token = getStatic(mint);
+    return token == null ? -1 : token.decimals();
+  }
+
+  @Override
+  public PublicKey tokenProgram(final PublicKey mint) {
+    final var token = getStatic(mint);
+    return token == null ? null : token.tokenProgram();
+  }
+
+  @Override
+  public double usdPrice(final PublicKey mint) {
+    final var token = get(mint);
+    return token == null ? Double.NaN : token.usdPrice();
+  }
+
+  @Override
+  public CompletableFuture<JupiterTokenV2> resolve(final PublicKey mint) {
+    final var token = get(mint);
+    if (token != null) {
+      return CompletableFuture.completedFuture(token);
+    }
+    final var entry = lookup(mint);
+    if (entry != null && System.nanoTime() - entry.fetchedAt <= notFoundTimeToLiveNanos) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final var shared = new CompletableFuture<JupiterTokenV2>();
+    final var existing = inFlight.putIfAbsent(mint, shared);
+    if (existing != null) {
+      return existing.copy();
+    }
+    pendingRefresh.remove(mint);
+    fetch(List.of(mint)).whenComplete((tokens, throwable) -> {
+      inFlight.remove(mint, shared);
+      if (throwable == null) {
+        shared.complete(tokens.get(mint));
+      } else {
+        shared.completeExceptionally(throwable);
+      }
+    });
+    return shared.copy();
+  }
+
+  private CompletableFuture<Map<PublicKey, JupiterTokenV2>> fetch(final Collection<PublicKey> mints) {
+    refreshRequests.increment();
+    final var query = mints.stream().map(PublicKey::toBase58).toList();
+    final CompletableFuture<Map<PublicKey, JupiterTokenV2>> request;
+    try {
+      request = jupiterClient.queryTokens(query);
+    } catch (final RuntimeException ex) {
+      failedRefreshRequests.increment();
+      return CompletableFuture.failedFuture(ex);
+    }
+    return request.whenComplete((tokens, throwable) -> {
+      if (throwable == null) {
+        putAll(tokens.values());
+        putNotFound(mints, tokens);
+      } else {
+        failedRefreshRequests.increment();
+      }
+    });
+  }
+
+  private CompletableFuture<Void> warm(final CompletableFuture<Map<PublicKey, JupiterTokenV2>> request) {
+    refreshRequests.increment();
+    return request.handle((tokens, throwable) -> {
+      if (throwable == null) {
+        putAll(tokens.values());
+        return null;
+      } else {
+        failedRefreshRequests.increment();
+        throw new CompletionException(throwable);
+      }
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> warm(final Collection<PublicKey> mints) {
+    final var mintList = List.copyOf(mints);
+    final var batches = new ArrayList<CompletableFuture<?>>();
+    for (int from = 0; from < mintList.size(); from += refreshBatchSize) {
+      batches.add(fetch(mintList.subList(from, Math.min(mintList.size(), from + refreshBatchSize))));
+    }
+    return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  public CompletableFuture<Void> warmTag(final String tag) {
+    return warm(jupiterClient.tokensForTag(tag));
+  }
+
+  @Override
+  public CompletableFuture<Void> warmRecent() {
+    return warm(jupiterClient.recentTokens());
+  }
+
+  @Override
+  public synchronized void start() {
+    if (refreshTask == null) {
+      this.refreshTask = scheduler.scheduleWithFixedDelay(
+          this::refreshPending, refreshIntervalNanos, refreshIntervalNanos, NANOSECONDS
+      );
+    }
+  }
+
+  private void refreshPending() {
+    if (pendingRefresh.isEmpty()) {
+      return;
+    }
+    final var batch = new ArrayList<PublicKey>(refreshBatchSize);
+    final var iterator = pendingRefresh.iterator();
+    while (iterator.hasNext()) {
+      final var mint = iterator.next();
+      iterator.remove();
+      if (!inFlight.containsKey(mint)) {
+        batch.add(mint);
+        if (batch.size() == refreshBatchSize) {
+          refreshBatch(List.copyOf(batch));
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      refreshBatch(batch);
+    }
+  }
+
+  private void refreshBatch(final List<PublicKey> mints) {
+    fetch(mints).whenComplete((tokens, throwable) -> {
+      if (throwable != null) {
+        logger.log(WARNING, String.format("Failed to refresh %d tokens.", mints.size()), throwable);
+      }
+    });
+  }
+
+  @Override
+  public void put(final JupiterTokenV2 token) {
+    final var entry = new Entry(token, System.nanoTime());
+    lock.lock();
+    try {
+      cache.put(token.address(), entry);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void putAll(final Collection<JupiterTokenV2> tokens) {
+    final long now = System.nanoTime();
+    lock.lock();
+    try {
+      for (final var token : tokens) {
+        cache.put(token.address(), new Entry(token, now));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void putNotFound(final Collection<PublicKey> mints, final Map<PublicKey, JupiterTokenV2> tokens) {
+    final var notFound = new Entry(null, System.nanoTime());
+    lock.lock();
+    try {
+      for (final var mint : mints) {
+        if (!tokens.containsKey(mint)) {
+          cache.put(mint, notFound);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return cache.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int pendingRefreshes() {
+    return pendingRefresh.size();
+  }
+
+  @Override
+  public long hits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long staleHits() {
+    return staleHits.sum();
+  }
+
+  @Override
+  public long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public long refreshRequests() {
+    return refreshRequests.sum();
+  }
+
+  @Override
+  public long failedRefreshRequests() {
+    return failedRefreshRequests.sum();
+  }
+
+  @Override
+  public synchronized void close() {
+    final var refreshTask = this.refreshTask;
+    if (refreshTask != null) {
+      refreshTask.cancel(false);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.TokenContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface JupiterTokenSearchIndex {
+
+  static JupiterTokenSearchIndex createIndex(final JupiterClient jupiterClient,
+                                             final Collection<? extends TokenContext> tokens) {
+    final var index = new LocalTokenSearchIndex(jupiterClient);
+    index.addAll(tokens);
+    return index;
+  }
+
+  static JupiterTokenSearchIndex createIndex(final JupiterClient jupiterClient) {
+    return new LocalTokenSearchIndex(jupiterClient);
+  }
+
+  TokenContext token(final PublicKey mint);
+
+  List<TokenContext> bySymbol(final String symbol);
+
+  TokenContext bestBySymbol(final String symbol);
+
+  List<TokenContext> search(final String prefix, final int limit);
+
+  CompletableFuture<List<TokenContext>> searchOrFetch(final String query, final int limit);
+
+  void add(final TokenContext token);
+
+  void addAll(final Collection<? extends TokenContext> tokens);
+
+  int size();
+
+  long localHits();
+
+  long remoteSearches();
+}
@@ -0,0 +1,70 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.response.JupiterUltraOrder;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+public interface JupiterUltraOrderEngine extends AutoCloseable {
+
+  Duration DEFAULT_TICK = Duration.ofMillis(10);
+  int DEFAULT_WHEEL_SIZE = 512;
+  int DEFAULT_MAX_ATTEMPTS = 3;
+
+  static JupiterUltraOrderEngine createEngine(final JupiterClient jupiterClient,
+                                              final ScheduledExecutorService timerScheduler,
+                                              final Duration tick,
+                                              final int wheelSize,
+                                              final Duration signBudget,
+                                              final Duration submitBudget,
+                                              final Duration requestTimeout,
+                                              final int maxAttempts) {
+    return new UltraOrderLifecycleEngine(
+        jupiterClient,
+        new TimerWheel(timerScheduler, tick, wheelSize),
+        signBudget,
+        submitBudget,
+        requestTimeout,
+        maxAttempts
+    );
+  }
+
+  static JupiterUltraOrderEngine createEngine(final JupiterClient jupiterClient,
+                                              final ScheduledExecutorService timerScheduler,
+                                              final Duration signBudget,
+                                              final Duration submitBudget,
+                                              final Duration requestTimeout) {
+    return createEngine(
+        jupiterClient,
+        timerScheduler,
+        DEFAULT_TICK,
+        DEFAULT_WHEEL_SIZE,
+        signBudget,
+        submitBudget,
+        requestTimeout,
+        DEFAULT_MAX_ATTEMPTS
+    );
+  }
+
+  CompletableFuture<JupiterUltraOrderExecution> execute(final BigInteger amount,
+                                                        final String query,
+                                                        final Function<JupiterUltraOrder, CompletableFuture<String>> signer);
+
+  int activeOrders();
+
+  long ordersExecuted();
+
+  long refetches();
+
+  long expiredOrders();
+
+  long failedOrders();
+
+  Duration lowHeadroom();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,13 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.response.JupiterExecuteOrder;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterUltraOrder;
+
+import java.time.Duration;
+
+public record JupiterUltraOrderExecution(JupiterUltraOrder order,
+                                         JupiterExecuteOrder executeOrder,
+                                         int attempts,
+                                         Duration headroomAtFetch,
+                                         Duration headroomAtSubmit) {
+}
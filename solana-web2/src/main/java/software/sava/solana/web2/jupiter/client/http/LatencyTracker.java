@@ -0,0 +1,52 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import java.util.Arrays;
+
+final class LatencyTracker {
+
+  private static final int RECOMPUTE_INTERVAL = 32;
+
+  private final long[] samples;
+  private final long[] sorted;
+  private final double percentile;
+  private int next;
+  private int count;
+  private int sinceRecompute;
+  private volatile long cachedPercentile;
+
+  LatencyTracker(final int capacity, final double percentile) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    if (percentile <= 0 || percentile > 1) {
+      throw new IllegalArgumentException("percentile must be in (0, 1]: " + percentile);
+    }
+    this.samples = new long[capacity];
+    this.sorted = new long[capacity];
+    this.percentile = percentile;
+    this.cachedPercentile = -1;
+  }
+
+  synchronized void record(final long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % samples.length;
+    if (count < samples.length) {
+      ++count;
+    }
+    if (++sinceRecompute >= RECOMPUTE_INTERVAL || count < RECOMPUTE_INTERVAL) {
+      sinceRecompute = 0;
+      System.arraycopy(samples, 0, sorted, 0, count);
+      Arrays.sort(sorted, 0, count);
+      final int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+      cachedPercentile = sorted[Math.max(0, index)];
+    }
+  }
+
+  long percentileNanos() {
+    return cachedPercentile;
+  }
+
+  synchronized int count() {
+    return count;
+  }
+}
@@ -0,0 +1,295 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterTokenTag;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterTokenV2;
+import software.sava.solana.web2.jupiter.client.http.response.TokenContext;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LocalTokenSearchIndex implements JupiterTokenSearchIndex {
+
+  static final Comparator<TokenContext> RANKING = (a, b) -> {
+    int cmp = Boolean.compare(verified(b), verified(a));
+    if (cmp != 0) {
+      return cmp;
+    }
+    cmp = Double.compare(liquidity(b), liquidity(a));
+    if (cmp != 0) {
+      return cmp;
+    }
+    return Double.compare(organicScore(b), organicScore(a));
+  };
+
+  private final JupiterClient jupiterClient;
+  private final LongAdder localHits;
+  private final LongAdder remoteSearches;
+  private volatile Snapshot snapshot;
+
+  LocalTokenSearchIndex(final JupiterClient jupiterClient) {
+    this.jupiterClient = jupiterClient;
+    this.localHits = new LongAdder();
+    this.remoteSearches = new LongAdder();
+    this.snapshot = Snapshot.createSnapshot(Map.of());
+  }
+
+  private static boolean verified(final TokenContext token) {
+    if (token instanceof JupiterTokenV2 tokenV2) {
+      return tokenV2.verified();
+    } else {
+      final var tags = token.tags();
+      return tags.contains(JupiterTokenTag.verified) || tags.contains(JupiterTokenTag.strict);
+    }
+  }
+
+  private static double liquidity(final TokenContext token) {
+    if (token instanceof JupiterTokenV2 tokenV2) {
+      final var liquidity = tokenV2.liquidity();
+      return liquidity == null ? 0 : liquidity.doubleValue();
+    } else {
+      return 0;
+    }
+  }
+
+  private static double organicScore(final TokenContext token) {
+    return token instanceof JupiterTokenV2 tokenV2 ? tokenV2.organicScore() : 0;
+  }
+
+  private static String normalize(final String text) {
+    return text.toLowerCase(Locale.ENGLISH);
+  }
+
+  private static boolean isSymbol(final TokenContext token, final String key) {
+    final var symbol = token.symbol();
+    return symbol != null && key.equals(normalize(symbol));
+  }
+
+  private static PublicKey parseMint(final String query) {
+    if (query.length() < 32 || query.length() > 44) {
+      return null;
+    }
+    try {
+      return PublicKey.fromBase58Encoded(query);
+    } catch (final RuntimeException ex) {
+      return null;
+    }
+  }
+
+  private record Snapshot(Map<PublicKey, TokenContext> byMint,
+                          Map<String, List<TokenContext>> bySymbol,
+                          String[] prefixKeys,
+                          TokenContext[] prefixTokens) {
+
+    private record PrefixEntry(String key, TokenContext token) {
+    }
+
+    private static void addEntries(final TokenContext token,
+                                   final Map<String, List<TokenContext>> bySymbol,
+                                   final List<PrefixEntry> entries) {
+      final var symbol = token.symbol();
+      if (symbol != null && !symbol.isBlank()) {
+        final var key = normalize(symbol);
+        bySymbol.computeIfAbsent(key, k -> new ArrayList<>(1)).add(token);
+        entries.add(new PrefixEntry(key, token));
+      }
+      final var name = token.name();
+      if (name != null && !name.isBlank()) {
+        final var key = normalize(name);
+        if (!key.equals(symbol == null ? null : normalize(symbol))) {
+          entries.add(new PrefixEntry(key, token));
+        }
+      }
+    }
+
+    private static Snapshot createSnapshot(final Map<PublicKey, TokenContext> byMint,
+                                           final Map<String, List<TokenContext>> bySymbol,
+                                           final List<PrefixEntry> entries) {
+      final int numEntries = entries.size();
+      final var prefixKeys = new String[numEntries];
+      final var prefixTokens = new TokenContext[numEntries];
+      for (int i = 0; i < numEntries; ++i) {
+        final var entry = entries.get(i);
+        prefixKeys[i] = entry.key;
+        prefixTokens[i] = entry.token;
+      }
+      return new Snapshot(byMint, bySymbol, prefixKeys, prefixTokens);
+    }
+
+    private static Snapshot createSnapshot(final Map<PublicKey, TokenContext> byMint) {
+      final var bySymbol = HashMap.<String, List<TokenContext>>newHashMap(byMint.size());
+      final var entries = new ArrayList<PrefixEntry>(byMint.size() << 1);
+      for (final var token : byMint.values()) {
+        addEntries(token, bySymbol, entries);
+      }
+      for (final var tokens : bySymbol.values()) {
+        tokens.sort(RANKING);
+      }
+      entries.sort(Comparator.comparing(PrefixEntry::key));
+      return createSnapshot(byMint, bySymbol, entries);
+    }
+
+    // Only the added tokens are sorted, they are then merged into the existing sorted prefix keys.
+    private Snapshot merge(final Collection<? extends TokenContext> tokens) {
+      final var byMint = HashMap.<PublicKey, TokenContext>newHashMap(this.byMint.size() + tokens.size());
+      byMint.putAll(this.byMint);
+      final var added = HashMap.<PublicKey, TokenContext>newHashMap(tokens.size());
+      for (final var token : tokens) {
+        added.put(token.address(), token);
+      }
+      final var replaced = Collections.newSetFromMap(new IdentityHashMap<TokenContext, Boolean>());
+      for (final var token : added.values()) {
+        final var previous = byMint.put(token.address(), token);
+        if (previous != null) {
+          replaced.add(previous);
+        }
+      }
+
+      final var bySymbol = new HashMap<>(this.bySymbol);
+      final var copiedSymbols = new HashSet<String>();
+      for (final var previous : replaced) {
+        final var symbol = previous.symbol();
+        if (symbol != null && !symbol.isBlank()) {
+          final var key = normalize(symbol);
+          final var symbolTokens = new ArrayList<>(bySymbol.get(key));
+          symbolTokens.removeIf(token -> token == previous);
+          bySymbol.put(key, symbolTokens);
+          copiedSymbols.add(key);
+        }
+      }
+      final var addedEntries = new ArrayList<PrefixEntry>(added.size() << 1);
+      for (final var token : added.values()) {
+        final var symbol = token.symbol();
+        if (symbol != null && !symbol.isBlank()) {
+          final var key = normalize(symbol);
+          if (copiedSymbols.add(key)) {
+            final var symbolTokens = bySymbol.get(key);
+            bySymbol.put(key, symbolTokens == null ? new ArrayList<>(1) : new ArrayList<>(symbolTokens));
+          }
+        }
+        addEntries(token, bySymbol, addedEntries);
+      }
+      for (final var key : copiedSymbols) {
+        final var symbolTokens = bySymbol.get(key);
+        if (symbolTokens.isEmpty()) {
+          bySymbol.remove(key);
+        } else {
+          symbolTokens.sort(RANKING);
+        }
+      }
+      addedEntries.sort(Comparator.comparing(PrefixEntry::key));
+
+      final var entries = new ArrayList<PrefixEntry>(prefixKeys.length + addedEntries.size());
+      int i = 0;
+      int j = 0;
+      while (i < prefixKeys.length || j < addedEntries.size()) {
+        if (i < prefixKeys.length && replaced.contains(prefixTokens[i])) {
+          ++i;
+        } else if (j == addedEntries.size()
+            || (i < prefixKeys.length && prefixKeys[i].compareTo(addedEntries.get(j).key) <= 0)) {
+          entries.add(new PrefixEntry(prefixKeys[i], prefixTokens[i]));
+          ++i;
+        } else {
+          entries.add(addedEntries.get(j++));
+        }
+      }
+      return createSnapshot(byMint, bySymbol, entries);
+    }
+  }
+
+  @Override
+  public TokenContext token(final PublicKey mint) {
+    return snapshot.byMint.get(mint);
+  }
+
+  @Override
+  public List<TokenContext> bySymbol(final String symbol) {
+    final var tokens = snapshot.bySymbol.get(normalize(symbol));
+    return tokens == null ? List.of() : Collections.unmodifiableList(tokens);
+  }
+
+  @Override
+  public TokenContext bestBySymbol(final String symbol) {
+    final var tokens = snapshot.bySymbol.get(normalize(symbol));
+    return tokens == null ? null : tokens.getFirst();
+  }
+
+  @Override
+  public List<TokenContext> search(final String prefix, final int limit) {
+    final var key = normalize(prefix);
+    final var snapshot = this.snapshot;
+    final var prefixKeys = snapshot.prefixKeys;
+    int from = Arrays.binarySearch(prefixKeys, key);
+    if (from < 0) {
+      from = -(from + 1);
+    } else {
+      while (from > 0 && prefixKeys[from - 1].equals(key)) {
+        --from;
+      }
+    }
+    final var matches = new LinkedHashSet<TokenContext>();
+    for (int i = from; i < prefixKeys.length && prefixKeys[i].startsWith(key); ++i) {
+      matches.add(snapshot.prefixTokens[i]);
+    }
+    if (matches.isEmpty()) {
+      return List.of();
+    }
+    final var ranked = new ArrayList<>(matches);
+    // Exact symbol matches lead, the remaining prefix matches follow in rank order.
+    ranked.sort(Comparator.<TokenContext, Boolean>comparing(token -> !isSymbol(token, key)).thenComparing(RANKING));
+    return ranked.size() > limit ? List.copyOf(ranked.subList(0, limit)) : ranked;
+  }
+
+  @Override
+  public CompletableFuture<List<TokenContext>> searchOrFetch(final String query, final int limit) {
+    final var mint = parseMint(query);
+    if (mint != null) {
+      final var token = token(mint);
+      if (token != null) {
+        localHits.increment();
+        return CompletableFuture.completedFuture(List.of(token));
+      }
+    }
+    final var local = search(query, limit);
+    if (!local.isEmpty()) {
+      localHits.increment();
+      return CompletableFuture.completedFuture(local);
+    }
+    remoteSearches.increment();
+    return jupiterClient.queryTokens(query).thenApply(tokens -> {
+      addAll(tokens.values());
+      final var ranked = new ArrayList<TokenContext>(tokens.values());
+      ranked.sort(RANKING);
+      return ranked.size() > limit ? List.copyOf(ranked.subList(0, limit)) : ranked;
+    });
+  }
+
+  @Override
+  public void add(final TokenContext token) {
+    addAll(List.of(token));
+  }
+
+  @Override
+  public synchronized void addAll(final Collection<? extends TokenContext> tokens) {
+    if (tokens.isEmpty()) {
+      return;
+    }
+    this.snapshot = snapshot.merge(tokens);
+  }
+
+  @Override
+  public int size() {
+    return snapshot.byMint.size();
+  }
+
+  @Override
+  public long localHits() {
+    return localHits.sum();
+  }
+
+  @Override
+  public long remoteSearches() {
+    return remoteSearches.sum();
+  }
+}
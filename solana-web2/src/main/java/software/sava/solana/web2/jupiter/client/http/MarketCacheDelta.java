@@ -0,0 +1,21 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MarketCacheDelta(List<MarketRecord> added,
+                               List<MarketRecord> removed,
+                               List<MarketRecord> changed,
+                               int numMarkets,
+                               Instant refreshedAt) {
+
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+
+  public int numChanges() {
+    return added.size() + removed.size() + changed.size();
+  }
+}
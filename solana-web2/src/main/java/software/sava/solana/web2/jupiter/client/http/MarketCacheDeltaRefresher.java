@@ -0,0 +1,199 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecordField;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class MarketCacheDeltaRefresher implements MarketCacheRefresher {
+
+  private static final System.Logger logger = System.getLogger(MarketCacheDeltaRefresher.class.getName());
+
+  private final JupiterClient jupiterClient;
+  private final Set<MarketRecordField> fields;
+  private final ScheduledExecutorService scheduler;
+  private final long refreshIntervalNanos;
+  private final CopyOnWriteArrayList<Consumer<MarketCacheDelta>> listeners;
+  private final AtomicReference<CompletableFuture<MarketCacheDelta>> inFlight;
+  private final LongAdder refreshes;
+  private final LongAdder failedRefreshes;
+  private volatile Map<PublicKey, MarketRecord> snapshot;
+  private volatile ScheduledFuture<?> refreshTask;
+
+  MarketCacheDeltaRefresher(final JupiterClient jupiterClient,
+                            final Set<MarketRecordField> fields,
+                            final ScheduledExecutorService scheduler,
+                            final Duration refreshInterval) {
+    if (!fields.contains(MarketRecordField.PUBKEY)) {
+      throw new IllegalArgumentException("Market cache refreshes must include the PUBKEY field.");
+    }
+    this.jupiterClient = jupiterClient;
+    this.fields = fields;
+    this.scheduler = scheduler;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.inFlight = new AtomicReference<>();
+    this.refreshes = new LongAdder();
+    this.failedRefreshes = new LongAdder();
+    this.snapshot = Map.of();
+  }
+
+  static boolean sameContent(final MarketRecord a, final MarketRecord b) {
+    return a.lamports() == b.lamports()
+        && a.executable() == b.executable()
+        && a.space() == b.space()
+        && a.routingGroup() == b.routingGroup()
+        && a.amp() == b.amp()
+        && a.decimalA() == b.decimalA()
+        && a.decimalB() == b.decimalB()
+        && Arrays.equals(a.data(), b.data())
+        && Objects.equals(a.owner(), b.owner())
+        && Objects.equals(a.rentEpoch(), b.rentEpoch())
+        && Objects.equals(a.addressLookupTableAddress(), b.addressLookupTableAddress())
+        && Objects.equals(a.vaultLpMint(), b.vaultLpMint())
+        && Objects.equals(a.vaultToken(), b.vaultToken())
+        && Objects.equals(a.serumAsks(), b.serumAsks())
+        && Objects.equals(a.serumBids(), b.serumBids())
+        && Objects.equals(a.serumCoinVaultAccount(), b.serumCoinVaultAccount())
+        && Objects.equals(a.serumEventQueue(), b.serumEventQueue())
+        && Objects.equals(a.serumPcVaultAccount(), b.serumPcVaultAccount())
+        && Objects.equals(a.serumVaultSigner(), b.serumVaultSigner())
+        && Objects.equals(a.tokenMints(), b.tokenMints());
+  }
+
+  @Override
+  public void addListener(final Consumer<MarketCacheDelta> listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public boolean removeListener(final Consumer<MarketCacheDelta> listener) {
+    return listeners.remove(listener);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (refreshTask == null) {
+      this.refreshTask = scheduler.scheduleWithFixedDelay(
+          this::scheduledRefresh, 0, refreshIntervalNanos, NANOSECONDS
+      );
+    }
+  }
+
+  private void scheduledRefresh() {
+    // Waiting on the refresh keeps the fixed delay measured from the end of the previous download.
+    refresh().handle((delta, throwable) -> {
+      if (throwable != null) {
+        logger.log(WARNING, "Failed to refresh the market cache.", throwable);
+      }
+      return delta;
+    }).join();
+  }
+
+  @Override
+  public CompletableFuture<MarketCacheDelta> refresh() {
+    final var pending = new CompletableFuture<MarketCacheDelta>();
+    final var existing = inFlight.compareAndExchange(null, pending);
+    if (existing != null) {
+      return existing.copy();
+    }
+    final var previous = this.snapshot;
+    final var next = HashMap.<PublicKey, MarketRecord>newHashMap(Math.max(previous.size(), 1_024));
+    // A market streamed more than once keeps its last record, so the diff runs over the
+    // collected markets rather than per streamed record.
+    final Consumer<MarketRecord> collect = market -> next.put(market.pubkey(), market);
+    try {
+      jupiterClient.streamMarketCache(fields, collect).whenComplete((numMarkets, throwable) -> {
+        if (throwable != null) {
+          failedRefreshes.increment();
+          inFlight.set(null);
+          pending.completeExceptionally(throwable);
+          return;
+        }
+        final var added = new ArrayList<MarketRecord>();
+        final var changed = new ArrayList<MarketRecord>();
+        for (final var market : next.values()) {
+          final var previousMarket = previous.get(market.pubkey());
+          if (previousMarket == null) {
+            added.add(market);
+          } else if (!sameContent(previousMarket, market)) {
+            changed.add(market);
+          }
+        }
+        final var removed = new ArrayList<MarketRecord>();
+        for (final var market : previous.values()) {
+          if (!next.containsKey(market.pubkey())) {
+            removed.add(market);
+          }
+        }
+        this.snapshot = next;
+        refreshes.increment();
+        final var delta = new MarketCacheDelta(added, removed, changed, next.size(), Instant.now());
+        if (!delta.isEmpty()) {
+          for (final var listener : listeners) {
+            try {
+              listener.accept(delta);
+            } catch (final RuntimeException ex) {
+              logger.log(WARNING, "Market cache delta listener failed.", ex);
+            }
+          }
+        }
+        // Cleared only after listeners have seen this delta, so an overlapping refresh cannot
+        // deliver a newer delta to them first.
+        inFlight.set(null);
+        pending.complete(delta);
+      });
+    } catch (final RuntimeException ex) {
+      failedRefreshes.increment();
+      inFlight.set(null);
+      pending.completeExceptionally(ex);
+    }
+    return pending.copy();
+  }
+
+  @Override
+  public MarketRecord get(final PublicKey pubkey) {
+    return snapshot.get(pubkey);
+  }
+
+  @Override
+  public Collection<MarketRecord> markets() {
+    return List.copyOf(snapshot.values());
+  }
+
+  @Override
+  public int size() {
+    return snapshot.size();
+  }
+
+  @Override
+  public long refreshes() {
+    return refreshes.sum();
+  }
+
+  @Override
+  public long failedRefreshes() {
+    return failedRefreshes.sum();
+  }
+
+  @Override
+  public synchronized void close() {
+    final var refreshTask = this.refreshTask;
+    if (refreshTask != null) {
+      refreshTask.cancel(false);
+    }
+  }
+}
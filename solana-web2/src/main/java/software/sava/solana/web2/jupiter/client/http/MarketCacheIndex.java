@@ -0,0 +1,43 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public interface MarketCacheIndex {
+
+  static CompletableFuture<MarketCacheIndex> buildIndex(final Collection<MarketRecord> markets, final Executor executor) {
+    return MarketCacheIndexes.build(markets.toArray(MarketRecord[]::new), executor);
+  }
+
+  static MarketCacheIndex buildIndex(final Collection<MarketRecord> markets) {
+    return buildIndex(markets, ForkJoinPool.commonPool()).join();
+  }
+
+  int size();
+
+  MarketRecord market(final int id);
+
+  List<MarketRecord> marketsTrading(final PublicKey mint);
+
+  List<MarketRecord> marketsTrading(final PublicKey mintA, final PublicKey mintB);
+
+  List<MarketRecord> marketsOwnedBy(final PublicKey program);
+
+  List<MarketRecord> marketsWithVault(final PublicKey vault);
+
+  List<MarketRecord> marketsInRoutingGroup(final long routingGroup);
+
+  int numMints();
+
+  int numOwners();
+
+  int numVaults();
+
+  int numRoutingGroups();
+}
@@ -0,0 +1,188 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.MarketPair;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+final class MarketCacheIndexes implements MarketCacheIndex {
+
+  private final MarketRecord[] markets;
+  private final PublicKeyPostings byMint;
+  private final PublicKeyPostings byOwner;
+  private final PublicKeyPostings byVault;
+  private final long[] routingGroups;
+  private final int[] routingGroupStarts;
+  private final int[] routingGroupPostings;
+
+  private MarketCacheIndexes(final MarketRecord[] markets,
+                             final PublicKeyPostings byMint,
+                             final PublicKeyPostings byOwner,
+                             final PublicKeyPostings byVault,
+                             final RoutingGroupPostings byRoutingGroup) {
+    this.markets = markets;
+    this.byMint = byMint;
+    this.byOwner = byOwner;
+    this.byVault = byVault;
+    this.routingGroups = byRoutingGroup.routingGroups;
+    this.routingGroupStarts = byRoutingGroup.starts;
+    this.routingGroupPostings = byRoutingGroup.postings;
+  }
+
+  private record RoutingGroupPostings(long[] routingGroups, int[] starts, int[] postings) {
+
+    private static RoutingGroupPostings build(final MarketRecord[] markets) {
+      final long[] sorted = new long[markets.length];
+      for (int i = 0; i < markets.length; ++i) {
+        sorted[i] = markets[i].routingGroup();
+      }
+      Arrays.sort(sorted);
+      int numGroups = 0;
+      for (int i = 0; i < sorted.length; ++i) {
+        if (i == 0 || sorted[i] != sorted[i - 1]) {
+          sorted[numGroups++] = sorted[i];
+        }
+      }
+      final long[] routingGroups = Arrays.copyOf(sorted, numGroups);
+
+      final int[] starts = new int[numGroups + 1];
+      final int[] groupIds = new int[markets.length];
+      for (int i = 0; i < markets.length; ++i) {
+        final int groupId = Arrays.binarySearch(routingGroups, markets[i].routingGroup());
+        groupIds[i] = groupId;
+        ++starts[groupId + 1];
+      }
+      for (int g = 0; g < numGroups; ++g) {
+        starts[g + 1] += starts[g];
+      }
+      final int[] cursors = Arrays.copyOf(starts, numGroups);
+      final int[] postings = new int[markets.length];
+      for (int i = 0; i < markets.length; ++i) {
+        postings[cursors[groupIds[i]]++] = i;
+      }
+      return new RoutingGroupPostings(routingGroups, starts, postings);
+    }
+  }
+
+  private static Collection<PublicKey> tokenMints(final MarketRecord market) {
+    final var tokenMints = market.tokenMints();
+    return tokenMints == null ? List.of() : tokenMints;
+  }
+
+  private static Collection<PublicKey> owner(final MarketRecord market) {
+    final var owner = market.owner();
+    return owner == null ? List.of() : List.of(owner);
+  }
+
+  private static void addVaults(final MarketPair pair, final List<PublicKey> vaults) {
+    if (pair != null) {
+      if (pair.a() != null) {
+        vaults.add(PublicKey.fromBase58Encoded(pair.a()));
+      }
+      if (pair.b() != null) {
+        vaults.add(PublicKey.fromBase58Encoded(pair.b()));
+      }
+    }
+  }
+
+  private static Collection<PublicKey> vaults(final MarketRecord market) {
+    final var vaultLpMint = market.vaultLpMint();
+    final var vaultToken = market.vaultToken();
+    if (vaultLpMint == null && vaultToken == null) {
+      return List.of();
+    }
+    final var vaults = new ArrayList<PublicKey>(4);
+    addVaults(vaultLpMint, vaults);
+    addVaults(vaultToken, vaults);
+    return vaults;
+  }
+
+  static CompletableFuture<MarketCacheIndex> build(final MarketRecord[] markets, final Executor executor) {
+    final var byMint = CompletableFuture.supplyAsync(
+        () -> PublicKeyPostings.build(markets, MarketCacheIndexes::tokenMints), executor
+    );
+    final var byOwner = CompletableFuture.supplyAsync(
+        () -> PublicKeyPostings.build(markets, MarketCacheIndexes::owner), executor
+    );
+    final var byVault = CompletableFuture.supplyAsync(
+        () -> PublicKeyPostings.build(markets, MarketCacheIndexes::vaults), executor
+    );
+    final var byRoutingGroup = CompletableFuture.supplyAsync(() -> RoutingGroupPostings.build(markets), executor);
+    return CompletableFuture.allOf(byMint, byOwner, byVault, byRoutingGroup).thenApply(ignored -> new MarketCacheIndexes(
+        markets,
+        byMint.join(),
+        byOwner.join(),
+        byVault.join(),
+        byRoutingGroup.join()
+    ));
+  }
+
+  private List<MarketRecord> markets(final int[] ids) {
+    final var markets = new MarketRecord[ids.length];
+    for (int i = 0; i < ids.length; ++i) {
+      markets[i] = this.markets[ids[i]];
+    }
+    return Arrays.asList(markets);
+  }
+
+  @Override
+  public int size() {
+    return markets.length;
+  }
+
+  @Override
+  public MarketRecord market(final int id) {
+    return markets[id];
+  }
+
+  @Override
+  public List<MarketRecord> marketsTrading(final PublicKey mint) {
+    return markets(byMint.postings(mint));
+  }
+
+  @Override
+  public List<MarketRecord> marketsTrading(final PublicKey mintA, final PublicKey mintB) {
+    return markets(PublicKeyPostings.intersect(byMint.postings(mintA), byMint.postings(mintB)));
+  }
+
+  @Override
+  public List<MarketRecord> marketsOwnedBy(final PublicKey program) {
+    return markets(byOwner.postings(program));
+  }
+
+  @Override
+  public List<MarketRecord> marketsWithVault(final PublicKey vault) {
+    return markets(byVault.postings(vault));
+  }
+
+  @Override
+  public List<MarketRecord> marketsInRoutingGroup(final long routingGroup) {
+    final int groupId = Arrays.binarySearch(routingGroups, routingGroup);
+    return groupId < 0
+        ? List.of()
+        : markets(Arrays.copyOfRange(routingGroupPostings, routingGroupStarts[groupId], routingGroupStarts[groupId + 1]));
+  }
+
+  @Override
+  public int numMints() {
+    return byMint.numKeys();
+  }
+
+  @Override
+  public int numOwners() {
+    return byOwner.numKeys();
+  }
+
+  @Override
+  public int numVaults() {
+    return byVault.numKeys();
+  }
+
+  @Override
+  public int numRoutingGroups() {
+    return routingGroups.length;
+  }
+}
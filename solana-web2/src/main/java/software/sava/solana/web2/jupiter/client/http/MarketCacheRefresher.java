@@ -0,0 +1,49 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecordField;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+public interface MarketCacheRefresher extends AutoCloseable {
+
+  static MarketCacheRefresher createRefresher(final JupiterClient jupiterClient,
+                                              final Set<MarketRecordField> fields,
+                                              final ScheduledExecutorService scheduler,
+                                              final Duration refreshInterval) {
+    return new MarketCacheDeltaRefresher(jupiterClient, fields, scheduler, refreshInterval);
+  }
+
+  static MarketCacheRefresher createRefresher(final JupiterClient jupiterClient,
+                                              final ScheduledExecutorService scheduler,
+                                              final Duration refreshInterval) {
+    return createRefresher(jupiterClient, MarketRecordField.ALL, scheduler, refreshInterval);
+  }
+
+  void addListener(final Consumer<MarketCacheDelta> listener);
+
+  boolean removeListener(final Consumer<MarketCacheDelta> listener);
+
+  void start();
+
+  CompletableFuture<MarketCacheDelta> refresh();
+
+  MarketRecord get(final PublicKey pubkey);
+
+  Collection<MarketRecord> markets();
+
+  int size();
+
+  long refreshes();
+
+  long failedRefreshes();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,447 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.MarketPair;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+public final class MarketRecordStore {
+
+  public static final int MAGIC = 0x4A4D4B54;
+  public static final int VERSION = 2;
+
+  private static final int HEADER_LENGTH = 64;
+  private static final int KEY_LENGTH = PublicKey.PUBLIC_KEY_LENGTH;
+  private static final int NULL_LENGTH = -1;
+  private static final int EMPTY_SLOT = 0;
+  private static final int EXECUTABLE_FLAG = 1;
+  private static final int OWNER_FLAG = 1 << 1;
+  private static final int RENT_EPOCH_FLAG = 1 << 2;
+
+  private final ByteBuffer buffer;
+  private final int numRecords;
+  private final int indexMask;
+  private final Instant createdAt;
+  private final int pubkeysOffset;
+  private final int ownersOffset;
+  private final int lamportsOffset;
+  private final int rentEpochsOffset;
+  private final int routingGroupsOffset;
+  private final int ampsOffset;
+  private final int arenaOffsetsOffset;
+  private final int spacesOffset;
+  private final int indexOffset;
+  private final int decimalsOffset;
+  private final int flagsOffset;
+  private final int arenaOffset;
+
+  private MarketRecordStore(final ByteBuffer buffer,
+                            final int numRecords,
+                            final int indexCapacity,
+                            final Instant createdAt) {
+    this.buffer = buffer;
+    this.numRecords = numRecords;
+    this.indexMask = indexCapacity - 1;
+    this.createdAt = createdAt;
+    this.pubkeysOffset = HEADER_LENGTH;
+    this.ownersOffset = pubkeysOffset + (numRecords * KEY_LENGTH);
+    this.lamportsOffset = ownersOffset + (numRecords * KEY_LENGTH);
+    this.rentEpochsOffset = lamportsOffset + (numRecords * Long.BYTES);
+    this.routingGroupsOffset = rentEpochsOffset + (numRecords * Long.BYTES);
+    this.ampsOffset = routingGroupsOffset + (numRecords * Long.BYTES);
+    this.arenaOffsetsOffset = ampsOffset + (numRecords * Long.BYTES);
+    this.spacesOffset = arenaOffsetsOffset + (numRecords * Long.BYTES);
+    this.indexOffset = spacesOffset + (numRecords * Integer.BYTES);
+    this.decimalsOffset = indexOffset + (indexCapacity * Integer.BYTES);
+    this.flagsOffset = decimalsOffset + (numRecords * 2);
+    this.arenaOffset = flagsOffset + numRecords;
+  }
+
+  private static int indexCapacity(final int numRecords) {
+    return Integer.highestOneBit(Math.max(2, numRecords) << 1) << 1;
+  }
+
+  private static int slot(final ByteBuffer buffer, final int keyOffset, final int mask) {
+    final long h = buffer.getLong(keyOffset);
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  public static MarketRecordStore open(final Path path) throws IOException {
+    try (final var channel = FileChannel.open(path, READ)) {
+      final long fileLength = channel.size();
+      if (fileLength < HEADER_LENGTH) {
+        throw new IllegalStateException(String.format("%s is too short to be a market record store.", path));
+      }
+      if (fileLength > Integer.MAX_VALUE) {
+        throw new IllegalStateException(String.format("%s exceeds the maximum store size: %d", path, fileLength));
+      }
+      final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileLength).order(ByteOrder.LITTLE_ENDIAN);
+      final int magic = buffer.getInt(0);
+      if (magic != MAGIC) {
+        throw new IllegalStateException(String.format("%s is not a market record store [magic=%08x].", path, magic));
+      }
+      final int version = buffer.getInt(4);
+      if (version != VERSION) {
+        throw new IllegalStateException(String.format(
+            "Unsupported market record store version %d, expected %d: %s", version, VERSION, path
+        ));
+      }
+      return new MarketRecordStore(
+          buffer,
+          buffer.getInt(8),
+          buffer.getInt(12),
+          Instant.ofEpochMilli(buffer.getLong(16))
+      );
+    }
+  }
+
+  public static MarketRecordStore openIfExists(final Path path) throws IOException {
+    return Files.exists(path) ? open(path) : null;
+  }
+
+  private static void putString(final ByteBuffer buffer, final String value) {
+    if (value == null) {
+      buffer.putInt(NULL_LENGTH);
+    } else {
+      final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer.putInt(bytes.length);
+      buffer.put(bytes);
+    }
+  }
+
+  private static int stringLength(final String value) {
+    return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+  }
+
+  private static int pairLength(final MarketPair pair) {
+    return 1 + (pair == null ? 0 : stringLength(pair.a()) + stringLength(pair.b()));
+  }
+
+  private static void putPair(final ByteBuffer buffer, final MarketPair pair) {
+    if (pair == null) {
+      buffer.put((byte) 0);
+    } else {
+      buffer.put((byte) 1);
+      putString(buffer, pair.a());
+      putString(buffer, pair.b());
+    }
+  }
+
+  private static long arenaLength(final MarketRecord record) {
+    final var tokenMints = record.tokenMints();
+    return Integer.BYTES + (record.data() == null ? 0 : record.data().length)
+        + stringLength(record.addressLookupTableAddress())
+        + pairLength(record.vaultLpMint())
+        + pairLength(record.vaultToken())
+        + stringLength(record.serumAsks())
+        + stringLength(record.serumBids())
+        + stringLength(record.serumCoinVaultAccount())
+        + stringLength(record.serumEventQueue())
+        + stringLength(record.serumPcVaultAccount())
+        + stringLength(record.serumVaultSigner())
+        + Integer.BYTES + (tokenMints == null ? 0 : (long) tokenMints.size() * KEY_LENGTH);
+  }
+
+  public static void write(final Path path, final Collection<MarketRecord> records) throws IOException {
+    final var unique = new ArrayList<MarketRecord>(records.size());
+    final var seen = new HashSet<PublicKey>(records.size() << 1);
+    for (final var record : records) {
+      if (record.pubkey() == null) {
+        throw new IllegalArgumentException("Market records must include PUBKEY to be stored.");
+      }
+      if (seen.add(record.pubkey())) {
+        unique.add(record);
+      }
+    }
+    final int numRecords = unique.size();
+    final int indexCapacity = indexCapacity(numRecords);
+    final var layout = new MarketRecordStore(null, numRecords, indexCapacity, null);
+    long fileLength = layout.arenaOffset;
+    for (final var record : unique) {
+      fileLength += arenaLength(record);
+    }
+    if (fileLength > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Market records exceed the maximum store size: " + fileLength);
+    }
+
+    final var tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      write(tmpPath, unique, layout, indexCapacity, fileLength);
+      Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmpPath);
+    }
+  }
+
+  private static void write(final Path tmpPath,
+                            final List<MarketRecord> unique,
+                            final MarketRecordStore layout,
+                            final int indexCapacity,
+                            final long fileLength) throws IOException {
+    final int numRecords = unique.size();
+    try (final var channel = FileChannel.open(tmpPath, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+      final var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileLength).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, VERSION);
+      buffer.putInt(8, numRecords);
+      buffer.putInt(12, indexCapacity);
+      buffer.putLong(16, System.currentTimeMillis());
+
+      final byte[] key = new byte[KEY_LENGTH];
+      buffer.position(layout.arenaOffset);
+      for (int i = 0; i < numRecords; ++i) {
+        final var record = unique.get(i);
+        final int keyOffset = layout.pubkeysOffset + (i * KEY_LENGTH);
+        record.pubkey().write(key, 0);
+        buffer.put(keyOffset, key);
+        if (record.owner() != null) {
+          record.owner().write(key, 0);
+          buffer.put(layout.ownersOffset + (i * KEY_LENGTH), key);
+        }
+        buffer.putLong(layout.lamportsOffset + (i * Long.BYTES), record.lamports());
+        if (record.rentEpoch() != null) {
+          buffer.putLong(layout.rentEpochsOffset + (i * Long.BYTES), record.rentEpoch().longValue());
+        }
+        buffer.putLong(layout.routingGroupsOffset + (i * Long.BYTES), record.routingGroup());
+        buffer.putLong(layout.ampsOffset + (i * Long.BYTES), record.amp());
+        buffer.putLong(layout.arenaOffsetsOffset + (i * Long.BYTES), buffer.position());
+        buffer.putInt(layout.spacesOffset + (i * Integer.BYTES), record.space());
+        buffer.put(layout.decimalsOffset + (i * 2), (byte) record.decimalA());
+        buffer.put(layout.decimalsOffset + (i * 2) + 1, (byte) record.decimalB());
+        buffer.put(layout.flagsOffset + i, (byte) ((record.executable() ? EXECUTABLE_FLAG : 0)
+            | (record.owner() == null ? 0 : OWNER_FLAG)
+            | (record.rentEpoch() == null ? 0 : RENT_EPOCH_FLAG)));
+
+        int slot = slot(buffer, keyOffset, layout.indexMask);
+        while (buffer.getInt(layout.indexOffset + (slot * Integer.BYTES)) != EMPTY_SLOT) {
+          slot = (slot + 1) & layout.indexMask;
+        }
+        buffer.putInt(layout.indexOffset + (slot * Integer.BYTES), i + 1);
+
+        final var data = record.data();
+        if (data == null) {
+          buffer.putInt(NULL_LENGTH);
+        } else {
+          buffer.putInt(data.length);
+          buffer.put(data);
+        }
+        putString(buffer, record.addressLookupTableAddress());
+        putPair(buffer, record.vaultLpMint());
+        putPair(buffer, record.vaultToken());
+        putString(buffer, record.serumAsks());
+        putString(buffer, record.serumBids());
+        putString(buffer, record.serumCoinVaultAccount());
+        putString(buffer, record.serumEventQueue());
+        putString(buffer, record.serumPcVaultAccount());
+        putString(buffer, record.serumVaultSigner());
+        final var tokenMints = record.tokenMints();
+        if (tokenMints == null) {
+          buffer.putInt(NULL_LENGTH);
+        } else {
+          buffer.putInt(tokenMints.size());
+          for (final var tokenMint : tokenMints) {
+            tokenMint.write(key, 0);
+            buffer.put(key);
+          }
+        }
+      }
+      buffer.force();
+    }
+  }
+
+  public int size() {
+    return numRecords;
+  }
+
+  public Instant createdAt() {
+    return createdAt;
+  }
+
+  public int indexOf(final PublicKey pubkey) {
+    final byte[] key = pubkey.toByteArray();
+    final long k0 = ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN).getLong(0);
+    int slot = (int) (k0 ^ (k0 >>> 32)) & indexMask;
+    for (int entry; (entry = buffer.getInt(indexOffset + (slot * Integer.BYTES))) != EMPTY_SLOT; slot = (slot + 1) & indexMask) {
+      final int index = entry - 1;
+      if (keyEquals(pubkeysOffset + (index * KEY_LENGTH), key)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private boolean keyEquals(final int offset, final byte[] key) {
+    for (int i = 0; i < KEY_LENGTH; ++i) {
+      if (buffer.get(offset + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean contains(final PublicKey pubkey) {
+    return indexOf(pubkey) >= 0;
+  }
+
+  private PublicKey readKey(final int offset) {
+    final byte[] key = new byte[KEY_LENGTH];
+    buffer.get(offset, key);
+    return PublicKey.createPubKey(key);
+  }
+
+  public PublicKey pubkey(final int index) {
+    return readKey(pubkeysOffset + (index * KEY_LENGTH));
+  }
+
+  private boolean hasFlag(final int index, final int flag) {
+    return (buffer.get(flagsOffset + index) & flag) != 0;
+  }
+
+  public PublicKey owner(final int index) {
+    return hasFlag(index, OWNER_FLAG) ? readKey(ownersOffset + (index * KEY_LENGTH)) : null;
+  }
+
+  public long lamports(final int index) {
+    return buffer.getLong(lamportsOffset + (index * Long.BYTES));
+  }
+
+  public BigInteger rentEpoch(final int index) {
+    if (!hasFlag(index, RENT_EPOCH_FLAG)) {
+      return null;
+    }
+    return new BigInteger(Long.toUnsignedString(buffer.getLong(rentEpochsOffset + (index * Long.BYTES))));
+  }
+
+  public long routingGroup(final int index) {
+    return buffer.getLong(routingGroupsOffset + (index * Long.BYTES));
+  }
+
+  public long amp(final int index) {
+    return buffer.getLong(ampsOffset + (index * Long.BYTES));
+  }
+
+  public int space(final int index) {
+    return buffer.getInt(spacesOffset + (index * Integer.BYTES));
+  }
+
+  public int decimalA(final int index) {
+    return Byte.toUnsignedInt(buffer.get(decimalsOffset + (index * 2)));
+  }
+
+  public int decimalB(final int index) {
+    return Byte.toUnsignedInt(buffer.get(decimalsOffset + (index * 2) + 1));
+  }
+
+  public boolean executable(final int index) {
+    return hasFlag(index, EXECUTABLE_FLAG);
+  }
+
+  private final class ArenaReader {
+
+    private int position;
+
+    private ArenaReader(final int index) {
+      this.position = (int) buffer.getLong(arenaOffsetsOffset + (index * Long.BYTES));
+    }
+
+    private int readInt() {
+      final int value = buffer.getInt(position);
+      position += Integer.BYTES;
+      return value;
+    }
+
+    private byte[] readBytes() {
+      final int length = readInt();
+      if (length == NULL_LENGTH) {
+        return null;
+      }
+      final byte[] bytes = new byte[length];
+      buffer.get(position, bytes);
+      position += length;
+      return bytes;
+    }
+
+    private String readString() {
+      final byte[] bytes = readBytes();
+      return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MarketPair readPair() {
+      return buffer.get(position++) == 0 ? null : new MarketPair(readString(), readString());
+    }
+
+    private List<PublicKey> readKeys() {
+      final int numKeys = readInt();
+      if (numKeys == NULL_LENGTH) {
+        return null;
+      }
+      final var keys = new ArrayList<PublicKey>(numKeys);
+      for (int i = 0; i < numKeys; ++i, position += KEY_LENGTH) {
+        keys.add(readKey(position));
+      }
+      return keys;
+    }
+  }
+
+  public byte[] data(final int index) {
+    return new ArenaReader(index).readBytes();
+  }
+
+  public MarketRecord get(final int index) {
+    final var arena = new ArenaReader(index);
+    final byte[] data = arena.readBytes();
+    final var addressLookupTableAddress = arena.readString();
+    final var vaultLpMint = arena.readPair();
+    final var vaultToken = arena.readPair();
+    final var serumAsks = arena.readString();
+    final var serumBids = arena.readString();
+    final var serumCoinVaultAccount = arena.readString();
+    final var serumEventQueue = arena.readString();
+    final var serumPcVaultAccount = arena.readString();
+    final var serumVaultSigner = arena.readString();
+    final var tokenMints = arena.readKeys();
+    return new MarketRecord(
+        pubkey(index),
+        lamports(index),
+        data,
+        owner(index),
+        executable(index),
+        rentEpoch(index),
+        space(index),
+        addressLookupTableAddress,
+        vaultLpMint,
+        vaultToken,
+        serumAsks,
+        serumBids,
+        serumCoinVaultAccount,
+        serumEventQueue,
+        serumPcVaultAccount,
+        serumVaultSigner,
+        routingGroup(index),
+        amp(index),
+        decimalA(index), decimalB(index),
+        tokenMints
+    );
+  }
+
+  public MarketRecord get(final PublicKey pubkey) {
+    final int index = indexOf(pubkey);
+    return index < 0 ? null : get(index);
+  }
+}
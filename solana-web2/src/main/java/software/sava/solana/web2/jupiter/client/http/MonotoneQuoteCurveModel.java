@@ -0,0 +1,351 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuoteLadder;
+import software.sava.solana.web2.jupiter.client.http.response.SwapMode;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+final class MonotoneQuoteCurveModel implements JupiterPriceImpactModel {
+
+  private final JupiterClient jupiterClient;
+  private final int maxSamples;
+  private final long maxAgeNanos;
+  private final ConcurrentHashMap<Pair, PairModel> pairs;
+  private final LongAdder modelHits;
+  private final LongAdder liveQuotes;
+
+  MonotoneQuoteCurveModel(final JupiterClient jupiterClient, final int maxSamples, final Duration maxAge) {
+    if (maxSamples <= 0) {
+      throw new IllegalArgumentException("maxSamples must be positive: " + maxSamples);
+    }
+    this.jupiterClient = jupiterClient;
+    this.maxSamples = maxSamples;
+    this.maxAgeNanos = maxAge.toNanos();
+    this.pairs = new ConcurrentHashMap<>();
+    this.modelHits = new LongAdder();
+    this.liveQuotes = new LongAdder();
+  }
+
+  private record Pair(PublicKey inputMint, PublicKey outputMint) {
+  }
+
+  private record Sample(long inAmount, long outAmount, double priceImpactPct, long contextSlot, long observedAt) {
+  }
+
+  // Immutable fit published to readers, x[0] is an implicit (0, 0) anchor which only shapes the fit,
+  // amounts below the smallest sample are not estimated.
+  private record Curve(double[] x,
+                       double[] y,
+                       double[] tangents,
+                       double[] priceImpactPct,
+                       long[] observedAt,
+                       long contextSlot) {
+
+    private long minInAmount() {
+      return (long) x[1];
+    }
+
+    private long maxInAmount() {
+      return (long) x[x.length - 1];
+    }
+
+    private int interval(final double amount) {
+      final int index = Arrays.binarySearch(x, amount);
+      return index >= 0 ? Math.min(index, x.length - 2) : -index - 2;
+    }
+
+    private double outAmount(final int k, final double amount) {
+      final double h = x[k + 1] - x[k];
+      final double t = (amount - x[k]) / h;
+      final double t2 = t * t;
+      final double t3 = t2 * t;
+      return ((2 * t3 - 3 * t2 + 1) * y[k])
+          + ((t3 - 2 * t2 + t) * h * tangents[k])
+          + ((-2 * t3 + 3 * t2) * y[k + 1])
+          + ((t3 - t2) * h * tangents[k + 1]);
+    }
+
+    private double priceImpactPct(final int k, final double amount) {
+      final double t = (amount - x[k]) / (x[k + 1] - x[k]);
+      return priceImpactPct[k] + (t * (priceImpactPct[k + 1] - priceImpactPct[k]));
+    }
+  }
+
+  private final class PairModel {
+
+    private final ArrayList<Sample> samples;
+    private volatile Curve curve;
+
+    private PairModel() {
+      this.samples = new ArrayList<>(maxSamples);
+    }
+
+    private synchronized void observe(final Sample sample) {
+      if (add(sample)) {
+        fit();
+      }
+    }
+
+    private synchronized void observe(final List<Sample> batch) {
+      boolean added = false;
+      for (final var sample : batch) {
+        added |= add(sample);
+      }
+      if (added) {
+        fit();
+      }
+    }
+
+    private boolean add(final Sample sample) {
+      for (int i = 0; i < samples.size(); ++i) {
+        final var existing = samples.get(i);
+        if (existing.inAmount == sample.inAmount) {
+          if (existing.contextSlot > sample.contextSlot) {
+            return false;
+          }
+          samples.set(i, sample);
+          return true;
+        }
+      }
+      if (samples.size() == maxSamples) {
+        int oldest = 0;
+        for (int i = 1; i < samples.size(); ++i) {
+          if (samples.get(i).observedAt - samples.get(oldest).observedAt < 0) {
+            oldest = i;
+          }
+        }
+        samples.set(oldest, sample);
+      } else {
+        samples.add(sample);
+      }
+      return true;
+    }
+
+    private synchronized void clear() {
+      samples.clear();
+      curve = null;
+    }
+
+    private synchronized int numSamples() {
+      return samples.size();
+    }
+
+    private void fit() {
+      final long now = System.nanoTime();
+      samples.removeIf(sample -> now - sample.observedAt > maxAgeNanos);
+      if (samples.isEmpty()) {
+        curve = null;
+        return;
+      }
+      samples.sort(Comparator.comparingLong(Sample::inAmount));
+
+      final int n = samples.size() + 1;
+      final double[] x = new double[n];
+      final double[] y = new double[n];
+      final double[] priceImpactPct = new double[n];
+      final long[] observedAt = new long[n];
+      long contextSlot = 0;
+      for (int i = 1; i < n; ++i) {
+        final var sample = samples.get(i - 1);
+        x[i] = sample.inAmount;
+        y[i] = sample.outAmount;
+        priceImpactPct[i] = sample.priceImpactPct;
+        observedAt[i] = sample.observedAt;
+        contextSlot = Math.max(contextSlot, sample.contextSlot);
+      }
+      observedAt[0] = observedAt[1];
+      poolAdjacentViolators(y);
+      curve = new Curve(x, y, fritschCarlsonTangents(x, y), priceImpactPct, observedAt, contextSlot);
+    }
+  }
+
+  // Quotes from different slots can invert, so outAmount is forced to be non-decreasing before interpolating.
+  static void poolAdjacentViolators(final double[] y) {
+    final int n = y.length;
+    final double[] levels = new double[n];
+    final int[] counts = new int[n];
+    int blocks = 0;
+    for (final double value : y) {
+      levels[blocks] = value;
+      counts[blocks] = 1;
+      while (blocks > 0 && levels[blocks - 1] > levels[blocks]) {
+        final int merged = counts[blocks - 1] + counts[blocks];
+        levels[blocks - 1] = ((levels[blocks - 1] * counts[blocks - 1]) + (levels[blocks] * counts[blocks])) / merged;
+        counts[blocks - 1] = merged;
+        --blocks;
+      }
+      ++blocks;
+    }
+    for (int b = 0, i = 0; b < blocks; ++b) {
+      for (int c = 0; c < counts[b]; ++c, ++i) {
+        y[i] = levels[b];
+      }
+    }
+  }
+
+  static double[] fritschCarlsonTangents(final double[] x, final double[] y) {
+    final int n = x.length;
+    final double[] secants = new double[n - 1];
+    for (int k = 0; k < n - 1; ++k) {
+      secants[k] = (y[k + 1] - y[k]) / (x[k + 1] - x[k]);
+    }
+    final double[] tangents = new double[n];
+    tangents[0] = secants[0];
+    tangents[n - 1] = secants[n - 2];
+    for (int k = 1; k < n - 1; ++k) {
+      tangents[k] = secants[k - 1] * secants[k] <= 0 ? 0 : (secants[k - 1] + secants[k]) / 2;
+    }
+    for (int k = 0; k < n - 1; ++k) {
+      if (secants[k] == 0) {
+        tangents[k] = 0;
+        tangents[k + 1] = 0;
+      } else {
+        final double alpha = tangents[k] / secants[k];
+        final double beta = tangents[k + 1] / secants[k];
+        final double magnitude = (alpha * alpha) + (beta * beta);
+        if (magnitude > 9) {
+          final double tau = 3 / Math.sqrt(magnitude);
+          tangents[k] = tau * alpha * secants[k];
+          tangents[k + 1] = tau * beta * secants[k];
+        }
+      }
+    }
+    return tangents;
+  }
+
+  private PairModel pairModel(final PublicKey inputMint, final PublicKey outputMint) {
+    return pairs.computeIfAbsent(new Pair(inputMint, outputMint), ignored -> new PairModel());
+  }
+
+  private static double priceImpactPct(final JupiterQuote quote) {
+    final var priceImpactPct = quote.priceImpactPct();
+    return priceImpactPct == null ? 0 : priceImpactPct.doubleValue();
+  }
+
+  private static boolean modelled(final JupiterQuote quote) {
+    return quote.swapMode() != SwapMode.ExactOut && quote.inAmount() > 0;
+  }
+
+  private static Sample sample(final JupiterQuote quote, final long observedAt) {
+    return new Sample(quote.inAmount(), quote.outAmount(), priceImpactPct(quote), quote.contextSlot(), observedAt);
+  }
+
+  @Override
+  public void observe(final JupiterQuote quote) {
+    if (modelled(quote)) {
+      pairModel(quote.inputMint(), quote.outputMint()).observe(sample(quote, System.nanoTime()));
+    }
+  }
+
+  @Override
+  public void observe(final JupiterQuoteLadder ladder) {
+    // Every rung is added before refitting, so a ladder costs one fit per pair rather than one per rung.
+    final long now = System.nanoTime();
+    final var samplesByPair = new HashMap<Pair, List<Sample>>();
+    for (final var quote : ladder.quotes()) {
+      if (quote != null && modelled(quote)) {
+        samplesByPair.computeIfAbsent(new Pair(quote.inputMint(), quote.outputMint()), ignored -> new ArrayList<>())
+            .add(sample(quote, now));
+      }
+    }
+    samplesByPair.forEach((pair, samples) -> pairs.computeIfAbsent(pair, ignored -> new PairModel()).observe(samples));
+  }
+
+  @Override
+  public PriceImpactEstimate estimate(final PublicKey inputMint, final PublicKey outputMint, final long inAmount) {
+    final var pairModel = pairs.get(new Pair(inputMint, outputMint));
+    if (pairModel == null) {
+      return null;
+    }
+    final var curve = pairModel.curve;
+    if (curve == null) {
+      return null;
+    }
+    final long now = System.nanoTime();
+    if (inAmount < curve.minInAmount() || inAmount > curve.maxInAmount()) {
+      final long age = now - curve.observedAt[curve.observedAt.length - 1];
+      return new PriceImpactEstimate(inAmount, -1, Double.NaN, 0, false, curve.contextSlot, Duration.ofNanos(age), null);
+    }
+    final double amount = inAmount;
+    final int k = curve.interval(amount);
+    final long age = now - Math.min(curve.observedAt[k], curve.observedAt[k + 1]);
+    // Confidence falls off with the age of the bracketing samples and with how far the amount sits from a sample.
+    final double freshness = Math.max(0, 1 - (age / (double) maxAgeNanos));
+    final double gap = Math.min(amount - curve.x[k], curve.x[k + 1] - amount);
+    final double support = 1 - (gap / (curve.x[k + 1] - curve.x[k]));
+    return new PriceImpactEstimate(
+        inAmount,
+        (long) curve.outAmount(k, amount),
+        curve.priceImpactPct(k, amount),
+        freshness * support,
+        true,
+        curve.contextSlot,
+        Duration.ofNanos(age),
+        null
+    );
+  }
+
+  @Override
+  public long expectedOutAmount(final PublicKey inputMint, final PublicKey outputMint, final long inAmount) {
+    final var estimate = estimate(inputMint, outputMint, inAmount);
+    return estimate == null ? -1 : estimate.outAmount();
+  }
+
+  @Override
+  public CompletableFuture<PriceImpactEstimate> estimateOrQuote(final JupiterQuoteRequest quoteRequest,
+                                                                final double minConfidence) {
+    final var amount = quoteRequest.amount();
+    if (quoteRequest.swapMode() != SwapMode.ExactOut && amount != null && amount.bitLength() < Long.SIZE) {
+      final var estimate = estimate(quoteRequest.inputTokenMint(), quoteRequest.outputTokenMint(), amount.longValue());
+      if (estimate != null && estimate.inRange() && estimate.confidence() >= minConfidence) {
+        modelHits.increment();
+        return CompletableFuture.completedFuture(estimate);
+      }
+    }
+    liveQuotes.increment();
+    return jupiterClient.getQuote(quoteRequest).thenApply(quote -> {
+      observe(quote);
+      return new PriceImpactEstimate(
+          quote.inAmount(),
+          quote.outAmount(),
+          priceImpactPct(quote),
+          1,
+          true,
+          quote.contextSlot(),
+          Duration.ZERO,
+          quote
+      );
+    });
+  }
+
+  @Override
+  public int numSamples(final PublicKey inputMint, final PublicKey outputMint) {
+    final var pairModel = pairs.get(new Pair(inputMint, outputMint));
+    return pairModel == null ? 0 : pairModel.numSamples();
+  }
+
+  @Override
+  public void invalidate(final PublicKey inputMint, final PublicKey outputMint) {
+    final var pairModel = pairs.get(new Pair(inputMint, outputMint));
+    if (pairModel != null) {
+      pairModel.clear();
+    }
+  }
+
+  @Override
+  public long modelHits() {
+    return modelHits.sum();
+  }
+
+  @Override
+  public long liveQuotes() {
+    return liveQuotes.sum();
+  }
+}
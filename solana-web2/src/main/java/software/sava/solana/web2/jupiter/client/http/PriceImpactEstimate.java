@@ -0,0 +1,19 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+
+import java.time.Duration;
+
+public record PriceImpactEstimate(long inAmount,
+                                  long outAmount,
+                                  double priceImpactPct,
+                                  double confidence,
+                                  boolean inRange,
+                                  long contextSlot,
+                                  Duration age,
+                                  JupiterQuote liveQuote) {
+
+  public boolean isLive() {
+    return liveQuote != null;
+  }
+}
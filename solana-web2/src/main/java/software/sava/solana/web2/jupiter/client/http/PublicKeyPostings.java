@@ -0,0 +1,142 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.MarketRecord;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Function;
+
+final class PublicKeyPostings {
+
+  private static final int KEY_LENGTH = PublicKey.PUBLIC_KEY_LENGTH;
+  private static final int[] NO_POSTINGS = new int[0];
+
+  private final byte[] keys;
+  private final int[] slots;
+  private final int mask;
+  private final int numKeys;
+  private final int[] starts;
+  private final int[] ends;
+  private final int[] postings;
+
+  private PublicKeyPostings(final byte[] keys,
+                            final int[] slots,
+                            final int numKeys,
+                            final int[] starts,
+                            final int[] ends,
+                            final int[] postings) {
+    this.keys = keys;
+    this.slots = slots;
+    this.mask = slots.length - 1;
+    this.numKeys = numKeys;
+    this.starts = starts;
+    this.ends = ends;
+    this.postings = postings;
+  }
+
+  private static int slot(final byte[] key, final int mask) {
+    return (Arrays.hashCode(key) * 0x9E3779B9) >>> 7 & mask;
+  }
+
+  private static int find(final byte[] keys, final int[] slots, final int mask, final byte[] key) {
+    for (int slot = slot(key, mask), id; ; slot = (slot + 1) & mask) {
+      if ((id = slots[slot]) == 0) {
+        return -(slot + 1);
+      }
+      final int from = (id - 1) * KEY_LENGTH;
+      if (Arrays.equals(keys, from, from + KEY_LENGTH, key, 0, KEY_LENGTH)) {
+        return id - 1;
+      }
+    }
+  }
+
+  static PublicKeyPostings build(final MarketRecord[] markets,
+                                 final Function<MarketRecord, Collection<PublicKey>> extractKeys) {
+    int numEntries = 0;
+    @SuppressWarnings("unchecked")
+    final Collection<PublicKey>[] marketKeys = new Collection[markets.length];
+    for (int i = 0; i < markets.length; ++i) {
+      final var keys = extractKeys.apply(markets[i]);
+      marketKeys[i] = keys;
+      numEntries += keys.size();
+    }
+
+    final int[] slots = new int[Integer.highestOneBit(Math.max(2, numEntries) << 1) << 1];
+    final int mask = slots.length - 1;
+    byte[] keys = new byte[Math.max(16, numEntries >> 2) * KEY_LENGTH];
+    int numKeys = 0;
+    final int[] entryIds = new int[numEntries];
+    int[] counts = new int[Math.max(16, numEntries >> 2)];
+    final byte[] key = new byte[KEY_LENGTH];
+    for (int i = 0, e = 0; i < markets.length; ++i) {
+      for (final var pubKey : marketKeys[i]) {
+        pubKey.write(key, 0);
+        int id = find(keys, slots, mask, key);
+        if (id < 0) {
+          if (numKeys == counts.length) {
+            counts = Arrays.copyOf(counts, numKeys << 1);
+            keys = Arrays.copyOf(keys, (numKeys << 1) * KEY_LENGTH);
+          }
+          System.arraycopy(key, 0, keys, numKeys * KEY_LENGTH, KEY_LENGTH);
+          slots[-id - 1] = numKeys + 1;
+          id = numKeys++;
+        }
+        ++counts[id];
+        entryIds[e++] = id;
+      }
+    }
+
+    final int[] starts = new int[numKeys];
+    for (int id = 1; id < numKeys; ++id) {
+      starts[id] = starts[id - 1] + counts[id - 1];
+    }
+    final int[] ends = Arrays.copyOf(starts, numKeys);
+    final int[] postings = new int[numEntries];
+    for (int i = 0, e = 0; i < markets.length; ++i) {
+      for (int k = 0, numMarketKeys = marketKeys[i].size(); k < numMarketKeys; ++k) {
+        final int id = entryIds[e++];
+        final int end = ends[id];
+        // A market listing the same key twice is only posted once.
+        if (end == starts[id] || postings[end - 1] != i) {
+          postings[end] = i;
+          ends[id] = end + 1;
+        }
+      }
+    }
+    return new PublicKeyPostings(Arrays.copyOf(keys, numKeys * KEY_LENGTH), slots, numKeys, starts, ends, postings);
+  }
+
+  int numKeys() {
+    return numKeys;
+  }
+
+  int id(final PublicKey pubKey) {
+    final byte[] key = new byte[KEY_LENGTH];
+    pubKey.write(key, 0);
+    final int id = find(keys, slots, mask, key);
+    return id < 0 ? -1 : id;
+  }
+
+  int[] postings(final PublicKey pubKey) {
+    final int id = id(pubKey);
+    return id < 0 ? NO_POSTINGS : Arrays.copyOfRange(postings, starts[id], ends[id]);
+  }
+
+  static int[] intersect(final int[] a, final int[] b) {
+    final int[] intersection = new int[Math.min(a.length, b.length)];
+    int n = 0;
+    for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+      if (a[i] < b[j]) {
+        ++i;
+      } else if (a[i] > b[j]) {
+        ++j;
+      } else {
+        intersection[n++] = a[i];
+        ++i;
+        ++j;
+      }
+    }
+    return n == intersection.length ? intersection : Arrays.copyOf(intersection, n);
+  }
+}
@@ -0,0 +1,134 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuoteLadder;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class QuoteLadderFetcher {
+
+  private final JupiterClient jupiterClient;
+  private final JupiterQuoteRequest prototype;
+  private final String query;
+  private final long[] amounts;
+  private final Duration requestTimeout;
+  private final JupiterQuote[] quotes;
+  private final Throwable[] errors;
+  private final AtomicInteger nextIndex;
+  private final AtomicInteger remaining;
+  private final CompletableFuture<JupiterQuoteLadder> ladderFuture;
+  private volatile Throwable lastError;
+
+  private QuoteLadderFetcher(final JupiterClient jupiterClient,
+                             final JupiterQuoteRequest prototype,
+                             final String query,
+                             final long[] amounts,
+                             final Duration requestTimeout) {
+    this.jupiterClient = jupiterClient;
+    this.prototype = prototype;
+    this.query = query;
+    this.amounts = amounts;
+    this.requestTimeout = requestTimeout;
+    this.quotes = new JupiterQuote[amounts.length];
+    this.errors = new Throwable[amounts.length];
+    this.nextIndex = new AtomicInteger();
+    this.remaining = new AtomicInteger(amounts.length);
+    this.ladderFuture = new CompletableFuture<>();
+  }
+
+  static CompletableFuture<JupiterQuoteLadder> fetchLadder(final JupiterClient jupiterClient,
+                                                           final JupiterQuoteRequest prototype,
+                                                           final long[] amounts,
+                                                           final int maxConcurrency,
+                                                           final Duration requestTimeout) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    final long[] sortedAmounts = amounts.clone();
+    Arrays.sort(sortedAmounts);
+    if (sortedAmounts.length > 0 && sortedAmounts[0] <= 0) {
+      throw new IllegalArgumentException("Quote amounts must be positive: " + sortedAmounts[0]);
+    }
+    // Serialize the shared query prefix once, every ladder rung only differs by amount.
+    final var query = JupiterQuoteRequest.buildRequest(prototype).amount((BigInteger) null).serialize();
+    final var fetcher = new QuoteLadderFetcher(jupiterClient, prototype, query, sortedAmounts, requestTimeout);
+    if (sortedAmounts.length == 0) {
+      fetcher.complete();
+    } else {
+      for (int i = 0, numWorkers = Math.min(maxConcurrency, sortedAmounts.length); i < numWorkers; ++i) {
+        fetcher.fetchNext();
+      }
+    }
+    return fetcher.ladderFuture;
+  }
+
+  // Quotes that are already complete, such as cache hits or synchronous failures, are consumed in a loop
+  // rather than by recursing from their callbacks, so long ladders cannot exhaust the stack.
+  private void fetchNext() {
+    for (; ; ) {
+      final int index = nextIndex.getAndIncrement();
+      if (index >= amounts.length) {
+        return;
+      }
+      final var amount = BigInteger.valueOf(amounts[index]);
+      final CompletableFuture<JupiterQuote> quoteFuture;
+      try {
+        quoteFuture = requestTimeout == null
+            ? jupiterClient.getQuote(amount, query)
+            : jupiterClient.getQuote(amount, query, requestTimeout);
+      } catch (final RuntimeException ex) {
+        if (onQuote(index, null, ex)) {
+          complete();
+          return;
+        }
+        continue;
+      }
+      if (quoteFuture.isDone()) {
+        if (quoteFuture.handle((quote, throwable) -> onQuote(index, quote, throwable)).join()) {
+          complete();
+          return;
+        }
+        continue;
+      }
+      quoteFuture.whenComplete((quote, throwable) -> {
+        if (onQuote(index, quote, throwable)) {
+          complete();
+        } else {
+          fetchNext();
+        }
+      });
+      return;
+    }
+  }
+
+  // Returns true once the last quote has been recorded.
+  private boolean onQuote(final int index, final JupiterQuote quote, final Throwable throwable) {
+    if (throwable == null) {
+      quotes[index] = quote;
+    } else {
+      errors[index] = throwable instanceof CompletionException && throwable.getCause() != null
+          ? throwable.getCause()
+          : throwable;
+      lastError = errors[index];
+    }
+    return remaining.decrementAndGet() == 0;
+  }
+
+  private void complete() {
+    final var ladder = JupiterQuoteLadder.createLadder(
+        prototype.inputTokenMint(), prototype.outputTokenMint(), amounts, quotes, errors
+    );
+    final var error = lastError;
+    if (ladder.size() == 0 && error != null) {
+      ladderFuture.completeExceptionally(error);
+    } else {
+      ladderFuture.complete(ladder);
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+final class RouteHistoryDexPruner implements JupiterDexPruner {
+
+  private final JupiterClient jupiterClient;
+  private final int minObservations;
+  private final int probeInterval;
+  private final int maxDexes;
+  private final double coverage;
+  private final double decay;
+  private final ConcurrentHashMap<PairBucket, BucketState> buckets;
+  private final LongAdder prunedQuotes;
+  private final LongAdder prunedLatencyNanos;
+  private final LongAdder unrestrictedQuotes;
+  private final LongAdder unrestrictedLatencyNanos;
+  private final LongAdder probes;
+  private final LongAdder driftsDetected;
+  private final LongAdder failedQuotes;
+  private final LongAdder prunedFallbacks;
+  private final LongAdder outAmountDeltas;
+  private final DoubleAdder outAmountDeltaBps;
+
+  RouteHistoryDexPruner(final JupiterClient jupiterClient,
+                        final int minObservations,
+                        final int probeInterval,
+                        final int maxDexes,
+                        final double coverage,
+                        final double decay) {
+    if (probeInterval <= 0) {
+      throw new IllegalArgumentException("probeInterval must be positive: " + probeInterval);
+    }
+    if (maxDexes <= 0) {
+      throw new IllegalArgumentException("maxDexes must be positive: " + maxDexes);
+    }
+    if (coverage <= 0 || coverage > 1) {
+      throw new IllegalArgumentException("coverage must be in (0, 1]: " + coverage);
+    }
+    if (decay <= 0 || decay > 1) {
+      throw new IllegalArgumentException("decay must be in (0, 1]: " + decay);
+    }
+    this.jupiterClient = jupiterClient;
+    this.minObservations = minObservations;
+    this.probeInterval = probeInterval;
+    this.maxDexes = maxDexes;
+    this.coverage = coverage;
+    this.decay = decay;
+    this.buckets = new ConcurrentHashMap<>();
+    this.prunedQuotes = new LongAdder();
+    this.prunedLatencyNanos = new LongAdder();
+    this.unrestrictedQuotes = new LongAdder();
+    this.unrestrictedLatencyNanos = new LongAdder();
+    this.probes = new LongAdder();
+    this.driftsDetected = new LongAdder();
+    this.failedQuotes = new LongAdder();
+    this.prunedFallbacks = new LongAdder();
+    this.outAmountDeltas = new LongAdder();
+    this.outAmountDeltaBps = new DoubleAdder();
+  }
+
+  private record PairBucket(PublicKey inputMint, PublicKey outputMint, int sizeBucket) {
+
+    private static PairBucket create(final PublicKey inputMint, final PublicKey outputMint, final BigInteger amount) {
+      // Power of two size buckets, routes for 1k and 1M of the same pair rarely share the same venues.
+      final int sizeBucket = amount == null || amount.signum() <= 0 ? 0 : amount.bitLength();
+      return new PairBucket(inputMint, outputMint, sizeBucket);
+    }
+
+    private static PairBucket create(final JupiterQuoteRequest quoteRequest) {
+      return create(quoteRequest.inputTokenMint(), quoteRequest.outputTokenMint(), quoteRequest.amount());
+    }
+  }
+
+  private static final class BucketState {
+
+    private final HashMap<String, double[]> labelWeights;
+    private double totalWeight;
+    private double directWeight;
+    private int observations;
+    private long quotes;
+    private List<String> selected;
+    private boolean onlyDirectRoutes;
+    private double lastPrunedRate;
+
+    private BucketState() {
+      this.labelWeights = HashMap.newHashMap(16);
+    }
+  }
+
+  private BucketState state(final PairBucket bucket) {
+    return buckets.computeIfAbsent(bucket, ignored -> new BucketState());
+  }
+
+  private static boolean hasExplicitDexes(final JupiterQuoteRequest quoteRequest) {
+    final var dexes = quoteRequest.dexes();
+    return dexes != null && !dexes.isEmpty();
+  }
+
+  private static boolean isDirect(final JupiterQuote quote) {
+    final var routePlan = quote.routePlan();
+    if (routePlan == null) {
+      return false;
+    }
+    for (final var route : routePlan) {
+      if (!route.inputMint().equals(quote.inputMint()) || !route.outputMint().equals(quote.outputMint())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void select(final BucketState state) {
+    final var entries = new ArrayList<>(state.labelWeights.entrySet());
+    entries.sort((a, b) -> Double.compare(b.getValue()[0], a.getValue()[0]));
+    final double target = state.totalWeight * coverage;
+    final var selected = new ArrayList<String>(Math.min(maxDexes, entries.size()));
+    double covered = 0;
+    for (final var entry : entries) {
+      if (covered >= target || selected.size() == maxDexes) {
+        break;
+      }
+      selected.add(entry.getKey());
+      covered += entry.getValue()[0];
+    }
+    state.selected = List.copyOf(selected);
+    state.onlyDirectRoutes = state.directWeight >= state.totalWeight * coverage;
+  }
+
+  private JupiterQuoteRequest prune(final JupiterQuoteRequest quoteRequest, final BucketState state) {
+    final List<String> selected;
+    final boolean onlyDirectRoutes;
+    synchronized (state) {
+      if (state.observations < minObservations || state.selected == null || state.selected.isEmpty()) {
+        return quoteRequest;
+      }
+      selected = state.selected;
+      onlyDirectRoutes = state.onlyDirectRoutes;
+    }
+    final var excludeDexes = quoteRequest.excludeDexes();
+    final List<String> dexes;
+    if (excludeDexes == null || excludeDexes.isEmpty()) {
+      dexes = selected;
+    } else {
+      dexes = selected.stream().filter(label -> !excludeDexes.contains(label)).toList();
+      if (dexes.isEmpty()) {
+        return quoteRequest;
+      }
+    }
+    return JupiterQuoteRequest.buildRequest(quoteRequest)
+        .dexes(dexes)
+        .onlyDirectRoutes(quoteRequest.onlyDirectRoutes() || onlyDirectRoutes)
+        .create();
+  }
+
+  @Override
+  public JupiterQuoteRequest prune(final JupiterQuoteRequest quoteRequest) {
+    if (hasExplicitDexes(quoteRequest)) {
+      return quoteRequest;
+    }
+    final var state = buckets.get(PairBucket.create(quoteRequest));
+    return state == null ? quoteRequest : prune(quoteRequest, state);
+  }
+
+  private void record(final BucketState state, final JupiterQuote quote, final boolean probe) {
+    final var routePlan = quote.routePlan();
+    if (routePlan == null || routePlan.isEmpty()) {
+      return;
+    }
+    final double rate = quote.inAmount() == 0 ? 0 : quote.outAmount() / (double) quote.inAmount();
+    synchronized (state) {
+      for (final var weight : state.labelWeights.values()) {
+        weight[0] *= decay;
+      }
+      state.totalWeight *= decay;
+      state.directWeight *= decay;
+      boolean drifted = false;
+      for (final var route : routePlan) {
+        final var label = route.label();
+        if (label == null) {
+          continue;
+        }
+        // Split legs are weighted by the share of the input they carry.
+        final double weight = route.percent() / 100.0;
+        state.labelWeights.computeIfAbsent(label, ignored -> new double[1])[0] += weight;
+        state.totalWeight += weight;
+        if (probe && state.selected != null && !state.selected.contains(label)) {
+          drifted = true;
+        }
+      }
+      if (isDirect(quote)) {
+        state.directWeight += 1;
+      }
+      ++state.observations;
+      if (probe) {
+        if (drifted) {
+          driftsDetected.increment();
+        }
+        if (state.lastPrunedRate > 0 && rate > 0) {
+          outAmountDeltas.increment();
+          outAmountDeltaBps.add(((rate - state.lastPrunedRate) / rate) * 10_000);
+        }
+      }
+      select(state);
+    }
+  }
+
+  @Override
+  public void record(final JupiterQuoteRequest quoteRequest, final JupiterQuote quote) {
+    if (!hasExplicitDexes(quoteRequest)) {
+      record(state(PairBucket.create(quoteRequest)), quote, false);
+    }
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final JupiterQuoteRequest quoteRequest) {
+    return getQuote(quoteRequest, null);
+  }
+
+  @Override
+  public CompletableFuture<JupiterQuote> getQuote(final JupiterQuoteRequest quoteRequest, final Duration requestTimeout) {
+    if (hasExplicitDexes(quoteRequest)) {
+      return send(quoteRequest, requestTimeout);
+    }
+    final var state = state(PairBucket.create(quoteRequest));
+    final boolean learning;
+    final boolean probe;
+    synchronized (state) {
+      learning = state.observations < minObservations;
+      probe = !learning && ++state.quotes % probeInterval == 0;
+    }
+    if (probe) {
+      probes.increment();
+    }
+    final var request = learning || probe ? quoteRequest : prune(quoteRequest, state);
+    final long start = System.nanoTime();
+    if (request == quoteRequest) {
+      return send(quoteRequest, requestTimeout)
+          .whenComplete((quote, throwable) -> onUnrestrictedQuote(state, quote, throwable, start, probe));
+    }
+    return send(request, requestTimeout).handle((quote, throwable) -> {
+      if (throwable == null) {
+        onPrunedQuote(state, quote, start);
+        return CompletableFuture.completedFuture(quote);
+      }
+      // The learned venues may no longer route this pair at all, so the request is retried with every venue.
+      prunedFallbacks.increment();
+      final long retryStart = System.nanoTime();
+      return send(quoteRequest, requestTimeout).whenComplete((retried, retryThrowable) ->
+          onUnrestrictedQuote(state, retried, retryThrowable, retryStart, false)
+      );
+    }).thenCompose(Function.identity());
+  }
+
+  private void onPrunedQuote(final BucketState state, final JupiterQuote quote, final long start) {
+    prunedQuotes.increment();
+    prunedLatencyNanos.add(System.nanoTime() - start);
+    if (quote.inAmount() > 0) {
+      synchronized (state) {
+        state.lastPrunedRate = quote.outAmount() / (double) quote.inAmount();
+      }
+    }
+  }
+
+  private void onUnrestrictedQuote(final BucketState state,
+                                   final JupiterQuote quote,
+                                   final Throwable throwable,
+                                   final long start,
+                                   final boolean probe) {
+    if (throwable != null) {
+      failedQuotes.increment();
+      return;
+    }
+    unrestrictedQuotes.increment();
+    unrestrictedLatencyNanos.add(System.nanoTime() - start);
+    // Only unrestricted quotes teach the model, pruned results can never reveal a better venue.
+    record(state, quote, probe);
+  }
+
+  private CompletableFuture<JupiterQuote> send(final JupiterQuoteRequest quoteRequest, final Duration requestTimeout) {
+    return requestTimeout == null
+        ? jupiterClient.getQuote(quoteRequest)
+        : jupiterClient.getQuote(quoteRequest, requestTimeout);
+  }
+
+  @Override
+  public List<String> winningDexes(final PublicKey inputMint, final PublicKey outputMint, final BigInteger amount) {
+    final var state = buckets.get(PairBucket.create(inputMint, outputMint, amount));
+    if (state == null) {
+      return List.of();
+    }
+    synchronized (state) {
+      return state.selected == null ? List.of() : state.selected;
+    }
+  }
+
+  private static Duration mean(final LongAdder totalNanos, final LongAdder count) {
+    final long n = count.sum();
+    return n == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / n);
+  }
+
+  @Override
+  public DexPruningStats stats() {
+    final long numDeltas = outAmountDeltas.sum();
+    return new DexPruningStats(
+        prunedQuotes.sum(),
+        unrestrictedQuotes.sum(),
+        probes.sum(),
+        driftsDetected.sum(),
+        failedQuotes.sum(),
+        prunedFallbacks.sum(),
+        mean(prunedLatencyNanos, prunedQuotes),
+        mean(unrestrictedLatencyNanos, unrestrictedQuotes),
+        numDeltas == 0 ? 0 : outAmountDeltaBps.sum() / numDeltas
+    );
+  }
+}
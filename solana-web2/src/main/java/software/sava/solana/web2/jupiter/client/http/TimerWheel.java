@@ -0,0 +1,107 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class TimerWheel implements AutoCloseable {
+
+  private static final System.Logger logger = System.getLogger(TimerWheel.class.getName());
+
+  private final long tickNanos;
+  private final int mask;
+  private final ArrayList<Timeout>[] buckets;
+  private final ConcurrentLinkedQueue<Timeout> pending;
+  private final long startNanos;
+  private final ScheduledFuture<?> tickTask;
+  private long currentTick;
+
+  @SuppressWarnings("unchecked")
+  TimerWheel(final ScheduledExecutorService scheduler, final Duration tick, final int wheelSize) {
+    if (Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+    }
+    this.tickNanos = tick.toNanos();
+    this.mask = wheelSize - 1;
+    this.buckets = new ArrayList[wheelSize];
+    for (int i = 0; i < wheelSize; ++i) {
+      buckets[i] = new ArrayList<>();
+    }
+    this.pending = new ConcurrentLinkedQueue<>();
+    this.startNanos = System.nanoTime();
+    this.tickTask = scheduler.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, NANOSECONDS);
+  }
+
+  static final class Timeout {
+
+    private final Runnable task;
+    private final long deadlineTick;
+    private long rounds;
+    private volatile boolean cancelled;
+
+    private Timeout(final Runnable task, final long deadlineTick) {
+      this.task = task;
+      this.deadlineTick = deadlineTick;
+    }
+
+    void cancel() {
+      cancelled = true;
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+  }
+
+  Timeout schedule(final Runnable task, final long deadlineNanos) {
+    final long deadlineTick = Math.max(0, (deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+    final var timeout = new Timeout(task, deadlineTick);
+    pending.add(timeout);
+    return timeout;
+  }
+
+  private void tick() {
+    // Only the scheduler thread touches the buckets, producers hand off through the pending queue.
+    final long tick = currentTick;
+    for (Timeout timeout; (timeout = pending.poll()) != null; ) {
+      if (!timeout.cancelled) {
+        final long ticks = Math.max(0, timeout.deadlineTick - tick);
+        timeout.rounds = ticks / buckets.length;
+        buckets[(int) ((tick + ticks) & mask)].add(timeout);
+      }
+    }
+    final var bucket = buckets[(int) (tick & mask)];
+    for (int i = bucket.size() - 1; i >= 0; --i) {
+      final var timeout = bucket.get(i);
+      if (timeout.cancelled) {
+        removeAt(bucket, i);
+      } else if (timeout.rounds > 0) {
+        --timeout.rounds;
+      } else {
+        removeAt(bucket, i);
+        try {
+          timeout.task.run();
+        } catch (final RuntimeException ex) {
+          logger.log(WARNING, "Timer task failed.", ex);
+        }
+      }
+    }
+    currentTick = tick + 1;
+  }
+
+  private static void removeAt(final ArrayList<Timeout> bucket, final int index) {
+    final int last = bucket.size() - 1;
+    bucket.set(index, bucket.get(last));
+    bucket.remove(last);
+  }
+
+  @Override
+  public void close() {
+    tickTask.cancel(false);
+  }
+}
@@ -0,0 +1,232 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.solana.web2.jupiter.client.http.response.JupiterUltraOrder;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+final class UltraOrderLifecycleEngine implements JupiterUltraOrderEngine {
+
+  private static final int HEADROOM_SAMPLES = 256;
+  private static final double LOW_HEADROOM_PERCENTILE = 0.05;
+
+  private final JupiterClient jupiterClient;
+  private final TimerWheel timerWheel;
+  private final long signBudgetNanos;
+  private final long submitBudgetNanos;
+  private final long requestTimeoutNanos;
+  private final int maxAttempts;
+  private final AtomicInteger activeOrders;
+  private final LongAdder ordersExecuted;
+  private final LongAdder refetches;
+  private final LongAdder expiredOrders;
+  private final LongAdder failedOrders;
+  private final LatencyTracker headroomAtSubmit;
+
+  UltraOrderLifecycleEngine(final JupiterClient jupiterClient,
+                            final TimerWheel timerWheel,
+                            final Duration signBudget,
+                            final Duration submitBudget,
+                            final Duration requestTimeout,
+                            final int maxAttempts) {
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+    }
+    this.jupiterClient = jupiterClient;
+    this.timerWheel = timerWheel;
+    this.signBudgetNanos = signBudget.toNanos();
+    this.submitBudgetNanos = submitBudget.toNanos();
+    this.requestTimeoutNanos = requestTimeout.toNanos();
+    this.maxAttempts = maxAttempts;
+    this.activeOrders = new AtomicInteger();
+    this.ordersExecuted = new LongAdder();
+    this.refetches = new LongAdder();
+    this.expiredOrders = new LongAdder();
+    this.failedOrders = new LongAdder();
+    this.headroomAtSubmit = new LatencyTracker(HEADROOM_SAMPLES, LOW_HEADROOM_PERCENTILE);
+  }
+
+  @Override
+  public CompletableFuture<JupiterUltraOrderExecution> execute(final BigInteger amount,
+                                                               final String query,
+                                                               final Function<JupiterUltraOrder, CompletableFuture<String>> signer) {
+    final var lifecycle = new Lifecycle(amount, query, signer);
+    activeOrders.incrementAndGet();
+    lifecycle.result.whenComplete((execution, throwable) -> {
+      activeOrders.decrementAndGet();
+      if (throwable == null) {
+        ordersExecuted.increment();
+      } else {
+        failedOrders.increment();
+      }
+    });
+    lifecycle.fetch();
+    return lifecycle.result;
+  }
+
+  private static long expiresAtNanos(final JupiterUltraOrder order) {
+    final var expireAt = order.expireAt();
+    return expireAt == null
+        ? Long.MAX_VALUE
+        : System.nanoTime() + Duration.between(Instant.now(), expireAt).toNanos();
+  }
+
+  private static long headroom(final long expiresAt) {
+    return expiresAt == Long.MAX_VALUE ? Long.MAX_VALUE : expiresAt - System.nanoTime();
+  }
+
+  private final class Lifecycle {
+
+    private final BigInteger amount;
+    private final String query;
+    private final Function<JupiterUltraOrder, CompletableFuture<String>> signer;
+    private final CompletableFuture<JupiterUltraOrderExecution> result;
+    private int attempts;
+
+    private Lifecycle(final BigInteger amount,
+                      final String query,
+                      final Function<JupiterUltraOrder, CompletableFuture<String>> signer) {
+      this.amount = amount;
+      this.query = query;
+      this.signer = signer;
+      this.result = new CompletableFuture<>();
+    }
+
+    private void fetch() {
+      if (result.isDone()) {
+        return;
+      }
+      if (++attempts > maxAttempts) {
+        expiredOrders.increment();
+        result.completeExceptionally(new TimeoutException(String.format(
+            "Ultra order did not leave enough headroom to sign and submit after %d attempts.", maxAttempts
+        )));
+        return;
+      }
+      if (attempts > 1) {
+        refetches.increment();
+      }
+      try {
+        jupiterClient.ultraOrder(amount, query, Duration.ofNanos(requestTimeoutNanos)).whenComplete((order, throwable) -> {
+          if (throwable != null) {
+            result.completeExceptionally(throwable);
+          } else {
+            onOrder(order);
+          }
+        });
+      } catch (final RuntimeException ex) {
+        result.completeExceptionally(ex);
+      }
+    }
+
+    private void onOrder(final JupiterUltraOrder order) {
+      final long expiresAt = expiresAtNanos(order);
+      final long headroomAtFetch = headroom(expiresAt);
+      if (headroomAtFetch < signBudgetNanos + submitBudgetNanos) {
+        fetch();
+        return;
+      }
+      final CompletableFuture<String> signing;
+      try {
+        signing = signer.apply(order);
+      } catch (final RuntimeException ex) {
+        result.completeExceptionally(ex);
+        return;
+      }
+      // If signing has not finished once only the submit budget remains, the order is abandoned and re-fetched.
+      final var signDeadline = expiresAt == Long.MAX_VALUE
+          ? null
+          : timerWheel.schedule(() -> {
+            if (signing.cancel(true)) {
+              fetch();
+            }
+          }, expiresAt - submitBudgetNanos);
+      signing.whenComplete((signedTx, throwable) -> {
+        if (signDeadline != null) {
+          signDeadline.cancel();
+        }
+        if (signing.isCancelled()) {
+          return;
+        }
+        if (throwable != null) {
+          result.completeExceptionally(throwable);
+          return;
+        }
+        final long headroom = headroom(expiresAt);
+        if (headroom < submitBudgetNanos) {
+          fetch();
+          return;
+        }
+        submit(order, signedTx, headroomAtFetch, headroom);
+      });
+    }
+
+    private void submit(final JupiterUltraOrder order,
+                        final String signedTx,
+                        final long headroomAtFetch,
+                        final long headroom) {
+      if (headroom != Long.MAX_VALUE) {
+        headroomAtSubmit.record(headroom);
+      }
+      final var timeout = Duration.ofNanos(Math.min(requestTimeoutNanos, headroom));
+      try {
+        jupiterClient.executeOrder(signedTx, order.requestId(), timeout).whenComplete((executeOrder, throwable) -> {
+          if (throwable != null) {
+            result.completeExceptionally(throwable);
+          } else {
+            result.complete(new JupiterUltraOrderExecution(
+                order,
+                executeOrder,
+                attempts,
+                Duration.ofNanos(headroomAtFetch),
+                Duration.ofNanos(headroom)
+            ));
+          }
+        });
+      } catch (final RuntimeException ex) {
+        result.completeExceptionally(ex);
+      }
+    }
+  }
+
+  @Override
+  public int activeOrders() {
+    return activeOrders.get();
+  }
+
+  @Override
+  public long ordersExecuted() {
+    return ordersExecuted.sum();
+  }
+
+  @Override
+  public long refetches() {
+    return refetches.sum();
+  }
+
+  @Override
+  public long expiredOrders() {
+    return expiredOrders.sum();
+  }
+
+  @Override
+  public long failedOrders() {
+    return failedOrders.sum();
+  }
+
+  @Override
+  public Duration lowHeadroom() {
+    return headroomAtSubmit.count() == 0 ? null : Duration.ofNanos(headroomAtSubmit.percentileNanos());
+  }
+
+  @Override
+  public void close() {
+    timerWheel.close();
+  }
+}
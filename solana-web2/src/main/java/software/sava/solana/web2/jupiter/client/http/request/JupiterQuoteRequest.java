@@ -7,6 +7,7 @@ import systems.comodal.jsoniter.JsonIterator;
 import java.math.BigInteger;
 import java.net.URLEncoder;
 import java.util.Collection;
+import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
 
@@ -55,7 +56,15 @@ public interface JupiterQuoteRequest {
 
   int maxAccounts();
 
+  static String encodeDexLabels(final Collection<String> labels) {
+    return URLEncoder.encode(String.join(",", labels), US_ASCII);
+  }
+
   default String serialize() {
+    return serialize(JupiterQuoteRequest::encodeDexLabels);
+  }
+
+  default String serialize(final Function<Collection<String>, String> dexLabelEncoder) {
     final var builder = new StringBuilder(256);
     builder.append("inputMint=").append(inputTokenMint().toBase58());
     builder.append("&outputMint=").append(outputTokenMint().toBase58());
@@ -71,11 +80,11 @@ public interface JupiterQuoteRequest {
     }
     final var dexes = dexes();
     if (dexes != null && !dexes.isEmpty()) {
-      builder.append("&dexes=").append(URLEncoder.encode(String.join(",", dexes), US_ASCII));
+      builder.append("&dexes=").append(dexLabelEncoder.apply(dexes));
     } else {
       final var excludeDexes = excludeDexes();
       if (excludeDexes != null && !excludeDexes.isEmpty()) {
-        builder.append("&excludeDexes=").append(URLEncoder.encode(String.join(",", excludeDexes), US_ASCII));
+        builder.append("&excludeDexes=").append(dexLabelEncoder.apply(excludeDexes));
       }
     }
     if (restrictIntermediateTokens()) {
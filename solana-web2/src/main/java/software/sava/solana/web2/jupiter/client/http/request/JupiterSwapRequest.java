@@ -60,6 +60,10 @@ public record JupiterSwapRequest(PublicKey userPublicKey,
     return builder.append(",\"quoteResponse\":");
   }
 
+  public JupiterSwapRequestPrefix preEncode() {
+    return JupiterSwapRequestPrefix.createPrefix(preSerialize());
+  }
+
   public static final class Builder {
 
     private PublicKey userPublicKey;
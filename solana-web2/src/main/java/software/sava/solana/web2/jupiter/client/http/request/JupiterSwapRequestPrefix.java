@@ -0,0 +1,47 @@
+package software.sava.solana.web2.jupiter.client.http.request;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class JupiterSwapRequestPrefix {
+
+  private static final byte[] CLOSE_BODY = {'}'};
+
+  private final byte[] prefix;
+
+  private JupiterSwapRequestPrefix(final byte[] prefix) {
+    this.prefix = prefix;
+  }
+
+  public static JupiterSwapRequestPrefix createPrefix(final CharSequence jsonBodyPrefix) {
+    return new JupiterSwapRequestPrefix(jsonBodyPrefix.toString().getBytes(UTF_8));
+  }
+
+  public int length() {
+    return prefix.length;
+  }
+
+  public HttpRequest.BodyPublisher bodyPublisher(final byte[] quoteResponseJson) {
+    final long contentLength = prefix.length + quoteResponseJson.length + CLOSE_BODY.length;
+    final var publisher = HttpRequest.BodyPublishers.ofByteArrays(List.of(prefix, quoteResponseJson, CLOSE_BODY));
+    return new SwapBodyPublisher(publisher, contentLength);
+  }
+
+  private record SwapBodyPublisher(HttpRequest.BodyPublisher publisher,
+                                   long contentLength) implements HttpRequest.BodyPublisher {
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+      publisher.subscribe(subscriber);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return new String(prefix, UTF_8);
+  }
+}
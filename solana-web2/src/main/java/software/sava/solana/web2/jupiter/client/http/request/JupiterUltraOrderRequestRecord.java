@@ -74,6 +74,10 @@ public record JupiterUltraOrderRequestRecord(PublicKey inputMint,
       this.taker = prototype.taker();
       this.referralAccount = prototype.referralAccount();
       this.referralFeeBps = prototype.referralFeeBps();
+      final var excludeRouters = prototype.excludeRouters();
+      this.excludeRouters = excludeRouters == null ? null : new HashSet<>(excludeRouters);
+      final var excludeDexes = prototype.excludeDexes();
+      this.excludeDexes = excludeDexes == null ? null : new HashSet<>(excludeDexes);
     }
 
     @Override
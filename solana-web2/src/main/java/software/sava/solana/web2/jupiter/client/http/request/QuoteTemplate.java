@@ -0,0 +1,155 @@
+package software.sava.solana.web2.jupiter.client.http.request;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Collection;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+public final class QuoteTemplate {
+
+  private static final byte[] AMOUNT_PARAM = "&amount=".getBytes(US_ASCII);
+  private static final byte[] SLIPPAGE_PARAM = "&slippageBps=".getBytes(US_ASCII);
+  private static final int MAX_LONG_DIGITS = 20;
+  private static final int MAX_INT_DIGITS = 11;
+
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[1_024]);
+
+  private final byte[] prefix;
+  private final byte[] suffix;
+  private final boolean supportsSlippage;
+  private final int slippageBps;
+
+  private QuoteTemplate(final String prefix,
+                        final String suffix,
+                        final boolean supportsSlippage,
+                        final int slippageBps) {
+    this.prefix = prefix.getBytes(US_ASCII);
+    this.suffix = suffix.getBytes(US_ASCII);
+    this.supportsSlippage = supportsSlippage;
+    this.slippageBps = slippageBps;
+  }
+
+  private static String mintsPrefix(final String inputMint, final String outputMint) {
+    return "inputMint=" + inputMint + "&outputMint=" + outputMint;
+  }
+
+  public static QuoteTemplate compile(final JupiterQuoteRequest request,
+                                      final Function<Collection<String>, String> dexLabelEncoder) {
+    final var query = JupiterQuoteRequest.buildRequest(request)
+        .amount((BigInteger) null)
+        .slippageBps(0)
+        .serialize(dexLabelEncoder);
+    final var prefix = mintsPrefix(request.inputTokenMint().toBase58(), request.outputTokenMint().toBase58());
+    return new QuoteTemplate(prefix, query.substring(prefix.length()), true, request.slippageBps());
+  }
+
+  public static QuoteTemplate compile(final JupiterQuoteRequest request) {
+    return compile(request, JupiterQuoteRequest::encodeDexLabels);
+  }
+
+  public static QuoteTemplate compile(final JupiterUltraOrderRequest request) {
+    final var query = JupiterUltraOrderRequest.buildRequest(request)
+        .amount(null)
+        .serialize();
+    final var prefix = mintsPrefix(request.inputMint().toBase58(), request.outputMint().toBase58());
+    return new QuoteTemplate(prefix, query.substring(prefix.length()), false, 0);
+  }
+
+  public static byte[] encodeURIPrefix(final URI endpoint, final String pathAndQueryPrefix) {
+    return (endpoint.getScheme() + "://" + endpoint.getRawAuthority() + pathAndQueryPrefix).getBytes(US_ASCII);
+  }
+
+  public int slippageBps() {
+    return slippageBps;
+  }
+
+  public boolean supportsSlippage() {
+    return supportsSlippage;
+  }
+
+  private static int writeDigits(final byte[] buf, final int offset, final long value) {
+    if (value == 0) {
+      buf[offset] = '0';
+      return offset + 1;
+    }
+    long remaining = value;
+    int end = offset;
+    if (remaining < 0) {
+      buf[end++] = '-';
+    }
+    int numDigits = 0;
+    for (long v = remaining; v != 0; v /= 10) {
+      ++numDigits;
+    }
+    end += numDigits;
+    for (int i = end - 1; remaining != 0; --i, remaining /= 10) {
+      buf[i] = (byte) ('0' + Math.abs(remaining % 10));
+    }
+    return end;
+  }
+
+  private static byte[] buffer(final int minLength) {
+    var buf = BUFFER.get();
+    if (buf.length < minLength) {
+      buf = new byte[Integer.highestOneBit(minLength) << 1];
+      BUFFER.set(buf);
+    }
+    return buf;
+  }
+
+  private int maxLength(final int uriPrefixLength) {
+    return uriPrefixLength
+        + prefix.length
+        + AMOUNT_PARAM.length + MAX_LONG_DIGITS
+        + SLIPPAGE_PARAM.length + MAX_INT_DIGITS
+        + suffix.length;
+  }
+
+  private int writeQuery(final byte[] buf, int i, final long amount, final int slippageBps) {
+    System.arraycopy(prefix, 0, buf, i, prefix.length);
+    i += prefix.length;
+    if (amount > 0) {
+      System.arraycopy(AMOUNT_PARAM, 0, buf, i, AMOUNT_PARAM.length);
+      i = writeDigits(buf, i + AMOUNT_PARAM.length, amount);
+    }
+    if (supportsSlippage && slippageBps > 0) {
+      System.arraycopy(SLIPPAGE_PARAM, 0, buf, i, SLIPPAGE_PARAM.length);
+      i = writeDigits(buf, i + SLIPPAGE_PARAM.length, slippageBps);
+    }
+    System.arraycopy(suffix, 0, buf, i, suffix.length);
+    return i + suffix.length;
+  }
+
+  public String serialize(final long amount, final int slippageBps) {
+    final byte[] buf = buffer(maxLength(0));
+    final int len = writeQuery(buf, 0, amount, slippageBps);
+    return new String(buf, 0, len, US_ASCII);
+  }
+
+  public String serialize(final long amount) {
+    return serialize(amount, slippageBps);
+  }
+
+  // The query without amount or slippage, for endpoints such as the Ultra order path that take the amount separately.
+  public String serializeWithoutAmount() {
+    return new String(prefix, US_ASCII) + new String(suffix, US_ASCII);
+  }
+
+  public URI createURI(final byte[] uriPrefix, final long amount, final int slippageBps) {
+    final byte[] buf = buffer(maxLength(uriPrefix.length));
+    System.arraycopy(uriPrefix, 0, buf, 0, uriPrefix.length);
+    final int len = writeQuery(buf, uriPrefix.length, amount, slippageBps);
+    return URI.create(new String(buf, 0, len, US_ASCII));
+  }
+
+  public URI createURI(final byte[] uriPrefix, final long amount) {
+    return createURI(uriPrefix, amount, slippageBps);
+  }
+
+  @Override
+  public String toString() {
+    return "QuoteTemplate[" + new String(prefix, US_ASCII) + "&amount=?" + new String(suffix, US_ASCII) + ']';
+  }
+}
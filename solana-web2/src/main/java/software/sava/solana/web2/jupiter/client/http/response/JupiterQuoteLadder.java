@@ -0,0 +1,108 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import software.sava.core.accounts.PublicKey;
+
+import java.util.Arrays;
+
+public record JupiterQuoteLadder(PublicKey inputMint,
+                                 PublicKey outputMint,
+                                 long[] amounts,
+                                 long[] outAmounts,
+                                 long[] otherAmountThresholds,
+                                 long[] contextSlots,
+                                 JupiterQuote[] quotes,
+                                 long[] failedAmounts,
+                                 Throwable[] failures) {
+
+  public static JupiterQuoteLadder createLadder(final PublicKey inputMint,
+                                                final PublicKey outputMint,
+                                                final long[] sortedAmounts,
+                                                final JupiterQuote[] quotes) {
+    return createLadder(inputMint, outputMint, sortedAmounts, quotes, null);
+  }
+
+  public static JupiterQuoteLadder createLadder(final PublicKey inputMint,
+                                                final PublicKey outputMint,
+                                                final long[] sortedAmounts,
+                                                final JupiterQuote[] quotes,
+                                                final Throwable[] errors) {
+    int numQuotes = 0;
+    for (final var quote : quotes) {
+      if (quote != null) {
+        ++numQuotes;
+      }
+    }
+    final long[] amounts = new long[numQuotes];
+    final long[] outAmounts = new long[numQuotes];
+    final long[] otherAmountThresholds = new long[numQuotes];
+    final long[] contextSlots = new long[numQuotes];
+    final var ladderQuotes = new JupiterQuote[numQuotes];
+    final int numFailed = quotes.length - numQuotes;
+    final long[] failedAmounts = new long[numFailed];
+    final var failures = new Throwable[numFailed];
+    for (int i = 0, j = 0, f = 0; i < quotes.length; ++i) {
+      final var quote = quotes[i];
+      if (quote == null) {
+        failedAmounts[f] = sortedAmounts[i];
+        failures[f] = errors == null ? null : errors[i];
+        ++f;
+      } else {
+        amounts[j] = sortedAmounts[i];
+        outAmounts[j] = quote.outAmount();
+        otherAmountThresholds[j] = quote.otherAmountThreshold();
+        contextSlots[j] = quote.contextSlot();
+        ladderQuotes[j] = quote;
+        ++j;
+      }
+    }
+    return new JupiterQuoteLadder(
+        inputMint, outputMint,
+        amounts, outAmounts, otherAmountThresholds, contextSlots,
+        ladderQuotes,
+        failedAmounts,
+        failures
+    );
+  }
+
+  public int numFailed() {
+    return failedAmounts.length;
+  }
+
+  public Throwable failure(final long amount) {
+    for (int i = 0; i < failedAmounts.length; ++i) {
+      if (failedAmounts[i] == amount) {
+        return failures[i];
+      }
+    }
+    return null;
+  }
+
+  public int size() {
+    return amounts.length;
+  }
+
+  public int indexOf(final long amount) {
+    return Arrays.binarySearch(amounts, amount);
+  }
+
+  public long outAmount(final long amount) {
+    final int index = indexOf(amount);
+    return index < 0 ? -1 : outAmounts[index];
+  }
+
+  public long minContextSlot() {
+    long min = Long.MAX_VALUE;
+    for (final long contextSlot : contextSlots) {
+      min = Math.min(min, contextSlot);
+    }
+    return min;
+  }
+
+  public long maxContextSlot() {
+    long max = Long.MIN_VALUE;
+    for (final long contextSlot : contextSlots) {
+      max = Math.max(max, contextSlot);
+    }
+    return max;
+  }
+}
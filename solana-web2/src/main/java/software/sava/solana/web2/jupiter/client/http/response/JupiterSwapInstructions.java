@@ -28,9 +28,14 @@ public record JupiterSwapInstructions(Instruction tokenLedgerInstruction,
                                       List<PublicKey> addressLookupTableAddresses,
                                       long prioritizationFeeLamports) {
 
+  static final int MAX_TABLE_ACCOUNTS = 256;
+
+  public PublicKey feePayer() {
+    return setupInstructions.getFirst().accounts().getFirst().publicKey();
+  }
+
   public Map<PublicKey, AccountMeta> createAccountsMap() {
-    final var feePayer = setupInstructions.getFirst().accounts().getFirst().publicKey();
-    return AccountMeta.createAccountsMap(64, feePayer);
+    return AccountMeta.createAccountsMap(64, feePayer());
   }
 
   public int numInstructions() {
@@ -101,12 +106,30 @@ public record JupiterSwapInstructions(Instruction tokenLedgerInstruction,
     return Transaction.createTx(Arrays.asList(instructions), serializedInstructionLength, accounts, tableAccountMetas);
   }
 
+  public Transaction serializeTransaction(final AddressLookupTable[] lookupTables) {
+    return switch (lookupTables.length) {
+      case 0 -> serializeTransaction();
+      case 1 -> serializeTransaction(lookupTables[0]);
+      default -> {
+        final var tableAccountMetas = new LookupTableAccountMeta[lookupTables.length];
+        for (int i = 0; i < lookupTables.length; ++i) {
+          tableAccountMetas[i] = LookupTableAccountMeta.createMeta(lookupTables[i], MAX_TABLE_ACCOUNTS);
+        }
+        yield serializeTransaction(tableAccountMetas);
+      }
+    };
+  }
+
   private static final List<Instruction> NO_INSTRUCTIONS = List.of();
 
   public static JupiterSwapInstructions parseInstructions(final JsonIterator ji) {
     return ji.testObject(new Builder(), PARSER).create();
   }
 
+  public static List<PublicKey> parseAddressLookupTableAddresses(final JsonIterator ji) {
+    return ji.testObject(new ArrayList<>(), LOOKUP_TABLE_ADDRESSES_PARSER);
+  }
+
   public static List<Instruction> parseInstructionsList(final JsonIterator ji) {
     if (ji.readArray()) {
       final var instructions = new ArrayList<Instruction>();
@@ -131,6 +154,17 @@ public record JupiterSwapInstructions(Instruction tokenLedgerInstruction,
     return ji.testObject(builder, ACCOUNT_PARSER).create();
   }
 
+  private static final ContextFieldBufferPredicate<List<PublicKey>> LOOKUP_TABLE_ADDRESSES_PARSER = (addresses, buf, offset, len, ji) -> {
+    if (fieldEquals("addressLookupTableAddresses", buf, offset, len)) {
+      while (ji.readArray()) {
+        addresses.add(parseBase58Encoded(ji));
+      }
+    } else {
+      ji.skip();
+    }
+    return true;
+  };
+
   private static final ContextFieldBufferPredicate<InstructionBuilder> INSTRUCTION_PARSER = (builder, buf, offset, len, ji) -> {
     if (fieldEquals("programId", buf, offset, len)) {
       builder.programId = parseBase58Encoded(ji);
@@ -0,0 +1,30 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum JupiterTokenField {
+
+  ADDRESS,
+  NAME,
+  SYMBOL,
+  DECIMALS,
+  CIRC_SUPPLY,
+  TOTAL_SUPPLY,
+  TOKEN_PROGRAM,
+  HOLDER_COUNT,
+  ORGANIC_SCORE,
+  VERIFIED,
+  TAGS,
+  FDV,
+  MCAP,
+  USD_PRICE,
+  PRICE_BLOCK_ID,
+  LIQUIDITY,
+  CT_LIKES,
+  SMART_CT_LIKES,
+  UPDATED_AT;
+
+  public static final Set<JupiterTokenField> ALL = Collections.unmodifiableSet(EnumSet.allOf(JupiterTokenField.class));
+}
@@ -0,0 +1,370 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterTokenTag;
+import systems.comodal.jsoniter.FieldBufferPredicate;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static software.sava.rpc.json.PublicKeyEncoding.parseBase58Encoded;
+import static software.sava.solana.web2.jupiter.client.http.response.JupiterTokenField.*;
+import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
+
+public final class JupiterTokenProjection implements FieldBufferPredicate {
+
+  private static final JupiterTokenTag[] TAGS = JupiterTokenTag.values();
+  private static final Map<String, JupiterTokenTag> TAGS_BY_NAME = HashMap.newHashMap(TAGS.length);
+
+  static {
+    for (final var tag : TAGS) {
+      TAGS_BY_NAME.put(tag.name(), tag);
+    }
+  }
+
+  private final Set<JupiterTokenField> fields;
+  private PublicKey address;
+  private String name;
+  private String symbol;
+  private int decimals;
+  private double circSupply;
+  private double totalSupply;
+  private PublicKey tokenProgram;
+  private long holderCount;
+  private double organicScore;
+  private boolean verified;
+  private int tagMask;
+  private double fdv;
+  private double mcap;
+  private double usdPrice;
+  private long priceBlockId;
+  private double liquidity;
+  private int ctLikes;
+  private int smartCtLikes;
+  private long updatedAtEpochMillis;
+
+  private JupiterTokenProjection(final Set<JupiterTokenField> fields) {
+    this.fields = fields;
+  }
+
+  private static EnumSet<JupiterTokenField> copyFields(final Set<JupiterTokenField> fields) {
+    return fields.isEmpty() ? EnumSet.noneOf(JupiterTokenField.class) : EnumSet.copyOf(fields);
+  }
+
+  public static JupiterTokenProjection createProjection(final Set<JupiterTokenField> fields) {
+    return new JupiterTokenProjection(copyFields(fields));
+  }
+
+  private static double doubleValue(final Number value) {
+    return value == null ? 0 : value.doubleValue();
+  }
+
+  private static JupiterTokenProjection projectToken(final JupiterTokenV2 token, final Set<JupiterTokenField> fields) {
+    final var projection = new JupiterTokenProjection(fields);
+    for (final var field : fields) {
+      switch (field) {
+        case ADDRESS -> projection.address = token.address();
+        case NAME -> projection.name = token.name();
+        case SYMBOL -> projection.symbol = token.symbol();
+        case DECIMALS -> projection.decimals = token.decimals();
+        case CIRC_SUPPLY -> projection.circSupply = doubleValue(token.circSupply());
+        case TOTAL_SUPPLY -> projection.totalSupply = doubleValue(token.totalSupply());
+        case TOKEN_PROGRAM -> projection.tokenProgram = token.tokenProgram();
+        case HOLDER_COUNT -> projection.holderCount = token.holderCount();
+        case ORGANIC_SCORE -> projection.organicScore = token.organicScore();
+        case VERIFIED -> projection.verified = token.verified();
+        case TAGS -> {
+          if (token.tagStrings() != null) {
+            for (final var tagString : token.tagStrings()) {
+              final var tag = TAGS_BY_NAME.get(tagString);
+              if (tag != null) {
+                projection.tagMask |= 1 << tag.ordinal();
+              }
+            }
+          }
+        }
+        case FDV -> projection.fdv = doubleValue(token.fdv());
+        case MCAP -> projection.mcap = doubleValue(token.mcap());
+        case USD_PRICE -> projection.usdPrice = token.usdPrice();
+        case PRICE_BLOCK_ID -> projection.priceBlockId = token.priceBlockId() == null ? 0 : token.priceBlockId().longValue();
+        case LIQUIDITY -> projection.liquidity = doubleValue(token.liquidity());
+        case CT_LIKES -> projection.ctLikes = token.ctLikes();
+        case SMART_CT_LIKES -> projection.smartCtLikes = token.smartCtLikes();
+        case UPDATED_AT -> projection.updatedAtEpochMillis = token.updatedAt() == null ? 0 : token.updatedAt().toEpochMilli();
+      }
+    }
+    return projection;
+  }
+
+  public static JupiterTokenProjection createProjection(final JupiterTokenV2 token, final Set<JupiterTokenField> fields) {
+    return projectToken(token, copyFields(fields));
+  }
+
+  public static List<JupiterTokenProjection> createProjections(final Collection<JupiterTokenV2> tokens,
+                                                               final Set<JupiterTokenField> fields) {
+    final var selected = copyFields(fields);
+    final var projections = new ArrayList<JupiterTokenProjection>(tokens.size());
+    for (final var token : tokens) {
+      projections.add(projectToken(token, selected));
+    }
+    return projections;
+  }
+
+  public static JupiterTokenProjection parseToken(final JsonIterator ji, final Set<JupiterTokenField> fields) {
+    final var projection = createProjection(fields);
+    ji.testObject(projection);
+    return projection;
+  }
+
+  public static List<JupiterTokenProjection> parseTokens(final JsonIterator ji, final Set<JupiterTokenField> fields) {
+    final var projections = new ArrayList<JupiterTokenProjection>(1_024);
+    final var selected = copyFields(fields);
+    while (ji.readArray()) {
+      final var projection = new JupiterTokenProjection(selected);
+      ji.testObject(projection);
+      projections.add(projection);
+    }
+    return projections;
+  }
+
+  public static int parseTokens(final JsonIterator ji,
+                                final Set<JupiterTokenField> fields,
+                                final Consumer<JupiterTokenProjection> consumer) {
+    final var projection = createProjection(fields);
+    int numTokens = 0;
+    while (ji.readArray()) {
+      // The same instance is refilled for each token, consumers must copy what they retain.
+      projection.reset();
+      ji.testObject(projection);
+      consumer.accept(projection);
+      ++numTokens;
+    }
+    return numTokens;
+  }
+
+  public static int tagMask(final Collection<JupiterTokenTag> tags) {
+    int mask = 0;
+    for (final var tag : tags) {
+      mask |= 1 << tag.ordinal();
+    }
+    return mask;
+  }
+
+  private void reset() {
+    address = null;
+    name = null;
+    symbol = null;
+    decimals = 0;
+    circSupply = 0;
+    totalSupply = 0;
+    tokenProgram = null;
+    holderCount = 0;
+    organicScore = 0;
+    verified = false;
+    tagMask = 0;
+    fdv = 0;
+    mcap = 0;
+    usdPrice = 0;
+    priceBlockId = 0;
+    liquidity = 0;
+    ctLikes = 0;
+    smartCtLikes = 0;
+    updatedAtEpochMillis = 0;
+  }
+
+  private boolean skip(final JupiterTokenField field, final JsonIterator ji) {
+    if (fields.contains(field)) {
+      return false;
+    } else {
+      ji.skip();
+      return true;
+    }
+  }
+
+  @Override
+  public boolean test(final char[] buf, final int offset, final int len, final JsonIterator ji) {
+    if (fieldEquals("id", buf, offset, len)) {
+      if (!skip(ADDRESS, ji)) {
+        address = parseBase58Encoded(ji);
+      }
+    } else if (fieldEquals("name", buf, offset, len)) {
+      if (!skip(NAME, ji)) {
+        name = ji.readString();
+      }
+    } else if (fieldEquals("symbol", buf, offset, len)) {
+      if (!skip(SYMBOL, ji)) {
+        symbol = ji.readString();
+      }
+    } else if (fieldEquals("decimals", buf, offset, len)) {
+      if (!skip(DECIMALS, ji)) {
+        decimals = ji.readInt();
+      }
+    } else if (fieldEquals("circSupply", buf, offset, len)) {
+      if (!skip(CIRC_SUPPLY, ji)) {
+        circSupply = ji.readDouble();
+      }
+    } else if (fieldEquals("totalSupply", buf, offset, len)) {
+      if (!skip(TOTAL_SUPPLY, ji)) {
+        totalSupply = ji.readDouble();
+      }
+    } else if (fieldEquals("tokenProgram", buf, offset, len)) {
+      if (!skip(TOKEN_PROGRAM, ji)) {
+        tokenProgram = parseBase58Encoded(ji);
+      }
+    } else if (fieldEquals("holderCount", buf, offset, len)) {
+      if (!skip(HOLDER_COUNT, ji)) {
+        holderCount = ji.readLong();
+      }
+    } else if (fieldEquals("organicScore", buf, offset, len)) {
+      if (!skip(ORGANIC_SCORE, ji)) {
+        organicScore = ji.readDouble();
+      }
+    } else if (fieldEquals("isVerified", buf, offset, len)) {
+      if (!skip(VERIFIED, ji)) {
+        verified = ji.readBoolean();
+      }
+    } else if (fieldEquals("tags", buf, offset, len)) {
+      if (!skip(JupiterTokenField.TAGS, ji)) {
+        while (ji.readArray()) {
+          final var tag = TAGS_BY_NAME.get(ji.readString());
+          if (tag != null) {
+            tagMask |= 1 << tag.ordinal();
+          }
+        }
+      }
+    } else if (fieldEquals("fdv", buf, offset, len)) {
+      if (!skip(FDV, ji)) {
+        fdv = ji.readDouble();
+      }
+    } else if (fieldEquals("mcap", buf, offset, len)) {
+      if (!skip(MCAP, ji)) {
+        mcap = ji.readDouble();
+      }
+    } else if (fieldEquals("usdPrice", buf, offset, len)) {
+      if (!skip(USD_PRICE, ji)) {
+        usdPrice = ji.readDouble();
+      }
+    } else if (fieldEquals("priceBlockId", buf, offset, len)) {
+      if (!skip(PRICE_BLOCK_ID, ji)) {
+        priceBlockId = ji.readLong();
+      }
+    } else if (fieldEquals("liquidity", buf, offset, len)) {
+      if (!skip(LIQUIDITY, ji)) {
+        liquidity = ji.readDouble();
+      }
+    } else if (fieldEquals("ctLikes", buf, offset, len)) {
+      if (!skip(CT_LIKES, ji)) {
+        ctLikes = ji.readInt();
+      }
+    } else if (fieldEquals("smartCtLikes", buf, offset, len)) {
+      if (!skip(SMART_CT_LIKES, ji)) {
+        smartCtLikes = ji.readInt();
+      }
+    } else if (fieldEquals("updatedAt", buf, offset, len)) {
+      if (!skip(UPDATED_AT, ji)) {
+        updatedAtEpochMillis = Instant.parse(ji.readString()).toEpochMilli();
+      }
+    } else {
+      ji.skip();
+    }
+    return true;
+  }
+
+  public Set<JupiterTokenField> fields() {
+    return fields;
+  }
+
+  public PublicKey address() {
+    return address;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public String symbol() {
+    return symbol;
+  }
+
+  public int decimals() {
+    return decimals;
+  }
+
+  public double circSupply() {
+    return circSupply;
+  }
+
+  public double totalSupply() {
+    return totalSupply;
+  }
+
+  public PublicKey tokenProgram() {
+    return tokenProgram;
+  }
+
+  public long holderCount() {
+    return holderCount;
+  }
+
+  public double organicScore() {
+    return organicScore;
+  }
+
+  public boolean verified() {
+    return verified;
+  }
+
+  public int tagMask() {
+    return tagMask;
+  }
+
+  public boolean hasTag(final JupiterTokenTag tag) {
+    return (tagMask & (1 << tag.ordinal())) != 0;
+  }
+
+  public boolean hasAnyTag(final int mask) {
+    return (tagMask & mask) != 0;
+  }
+
+  public Set<JupiterTokenTag> tags() {
+    final var tags = EnumSet.noneOf(JupiterTokenTag.class);
+    for (int mask = tagMask; mask != 0; mask &= mask - 1) {
+      tags.add(TAGS[Integer.numberOfTrailingZeros(mask)]);
+    }
+    return tags;
+  }
+
+  public double fdv() {
+    return fdv;
+  }
+
+  public double mcap() {
+    return mcap;
+  }
+
+  public double usdPrice() {
+    return usdPrice;
+  }
+
+  public long priceBlockId() {
+    return priceBlockId;
+  }
+
+  public double liquidity() {
+    return liquidity;
+  }
+
+  public int ctLikes() {
+    return ctLikes;
+  }
+
+  public int smartCtLikes() {
+    return smartCtLikes;
+  }
+
+  public long updatedAtEpochMillis() {
+    return updatedAtEpochMillis;
+  }
+}
@@ -0,0 +1,164 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import software.sava.core.accounts.PublicKey;
+import systems.comodal.jsoniter.ContextFieldBufferPredicate;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
+
+public final class LazyJupiterQuote {
+
+  private final byte[] quoteResponseJson;
+  private final long inAmount;
+  private final long outAmount;
+  private final long otherAmountThreshold;
+  private final int slippageBps;
+  private final long contextSlot;
+  private volatile JupiterQuote quote;
+
+  private LazyJupiterQuote(final byte[] quoteResponseJson,
+                           final long inAmount,
+                           final long outAmount,
+                           final long otherAmountThreshold,
+                           final int slippageBps,
+                           final long contextSlot) {
+    this.quoteResponseJson = quoteResponseJson;
+    this.inAmount = inAmount;
+    this.outAmount = outAmount;
+    this.otherAmountThreshold = otherAmountThreshold;
+    this.slippageBps = slippageBps;
+    this.contextSlot = contextSlot;
+  }
+
+  public static LazyJupiterQuote parse(final byte[] quoteResponseJson, final JsonIterator ji) {
+    return ji.testObject(new Builder(quoteResponseJson), PARSER).create();
+  }
+
+  public static LazyJupiterQuote fromQuote(final JupiterQuote quote) {
+    final var lazyQuote = new LazyJupiterQuote(
+        quote.quoteResponseJson(),
+        quote.inAmount(),
+        quote.outAmount(),
+        quote.otherAmountThreshold(),
+        quote.slippageBps(),
+        quote.contextSlot()
+    );
+    lazyQuote.quote = quote;
+    return lazyQuote;
+  }
+
+  private static final ContextFieldBufferPredicate<Builder> PARSER = (builder, buf, offset, len, ji) -> {
+    if (fieldEquals("inAmount", buf, offset, len)) {
+      builder.inAmount = ji.readLong();
+    } else if (fieldEquals("outAmount", buf, offset, len)) {
+      builder.outAmount = ji.readLong();
+    } else if (fieldEquals("otherAmountThreshold", buf, offset, len)) {
+      builder.otherAmountThreshold = ji.readLong();
+    } else if (fieldEquals("slippageBps", buf, offset, len)) {
+      builder.slippageBps = ji.readInt();
+    } else if (fieldEquals("contextSlot", buf, offset, len)) {
+      builder.contextSlot = ji.readLong();
+    } else {
+      ji.skip();
+    }
+    return true;
+  };
+
+  public JupiterQuote quote() {
+    var quote = this.quote;
+    if (quote == null) {
+      // Parsing is idempotent, a racing thread at worst repeats the work.
+      quote = JupiterQuote.parse(quoteResponseJson, JsonIterator.parse(quoteResponseJson));
+      this.quote = quote;
+    }
+    return quote;
+  }
+
+  public boolean isMaterialized() {
+    return quote != null;
+  }
+
+  public byte[] quoteResponseJson() {
+    return quoteResponseJson;
+  }
+
+  public long inAmount() {
+    return inAmount;
+  }
+
+  public long outAmount() {
+    return outAmount;
+  }
+
+  public long otherAmountThreshold() {
+    return otherAmountThreshold;
+  }
+
+  public int slippageBps() {
+    return slippageBps;
+  }
+
+  public long contextSlot() {
+    return contextSlot;
+  }
+
+  public PublicKey inputMint() {
+    return quote().inputMint();
+  }
+
+  public PublicKey outputMint() {
+    return quote().outputMint();
+  }
+
+  public SwapMode swapMode() {
+    return quote().swapMode();
+  }
+
+  public PlatformFee platformFee() {
+    return quote().platformFee();
+  }
+
+  public BigDecimal priceImpactPct() {
+    return quote().priceImpactPct();
+  }
+
+  public List<JupiterRoute> routePlan() {
+    return quote().routePlan();
+  }
+
+  public double timeTaken() {
+    return quote().timeTaken();
+  }
+
+  @Override
+  public String toString() {
+    return "LazyJupiterQuote[" +
+        "inAmount=" + inAmount +
+        ", outAmount=" + outAmount +
+        ", otherAmountThreshold=" + otherAmountThreshold +
+        ", slippageBps=" + slippageBps +
+        ", contextSlot=" + contextSlot +
+        ']';
+  }
+
+  private static final class Builder {
+
+    private final byte[] quoteResponseJson;
+    private long inAmount;
+    private long outAmount;
+    private long otherAmountThreshold;
+    private int slippageBps;
+    private long contextSlot;
+
+    private Builder(final byte[] quoteResponseJson) {
+      this.quoteResponseJson = quoteResponseJson;
+    }
+
+    private LazyJupiterQuote create() {
+      return new LazyJupiterQuote(quoteResponseJson, inAmount, outAmount, otherAmountThreshold, slippageBps, contextSlot);
+    }
+  }
+}
@@ -8,10 +8,13 @@ import systems.comodal.jsoniter.JsonIterator;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static java.lang.System.Logger.Level.WARNING;
 import static software.sava.rpc.json.PublicKeyEncoding.parseBase58Encoded;
 import static software.sava.rpc.json.http.response.JsonUtil.parseEncodedData;
+import static software.sava.solana.web2.jupiter.client.http.response.MarketRecordField.*;
 import static systems.comodal.jsoniter.JsonIterator.fieldEquals;
 
 public record MarketRecord(PublicKey pubkey,
@@ -41,7 +44,7 @@ public record MarketRecord(PublicKey pubkey,
   public static List<MarketRecord> parse(final JsonIterator ji) {
     final var records = new ArrayList<MarketRecord>(262_144);
     while (ji.readArray()) {
-      final var parser = new Parser();
+      final var parser = new Parser(ALL);
       ji.testObject(parser);
       final var record = parser.create();
       records.add(record);
@@ -49,40 +52,81 @@ public record MarketRecord(PublicKey pubkey,
     return records;
   }
 
+  public static long parse(final JsonIterator ji,
+                           final Set<MarketRecordField> fields,
+                           final Consumer<MarketRecord> consumer) {
+    long numRecords = 0;
+    while (ji.readArray()) {
+      final var parser = new Parser(fields);
+      ji.testObject(parser);
+      consumer.accept(parser.create());
+      ++numRecords;
+    }
+    return numRecords;
+  }
+
   private static final ContextFieldBufferPredicate<Parser> PARAMS_PARSER = (parser, buf, offset, len, ji) -> {
     if (fieldEquals("addressLookupTableAddress", buf, offset, len)) {
-      parser.addressLookupTableAddress = ji.readString();
+      if (!parser.skip(ADDRESS_LOOKUP_TABLE_ADDRESS, ji)) {
+        parser.addressLookupTableAddress = ji.readString();
+      }
     } else if (fieldEquals("vaultLpMint", buf, offset, len)) {
-      parser.vaultLpMint = MarketPair.parse(ji);
+      if (!parser.skip(VAULT_LP_MINT, ji)) {
+        parser.vaultLpMint = MarketPair.parse(ji);
+      }
     } else if (fieldEquals("vaultToken", buf, offset, len)) {
-      parser.vaultToken = MarketPair.parse(ji);
+      if (!parser.skip(VAULT_TOKEN, ji)) {
+        parser.vaultToken = MarketPair.parse(ji);
+      }
     } else if (fieldEquals("serumAsks", buf, offset, len)) {
-      parser.serumAsks = ji.readString();
+      if (!parser.skip(SERUM_ASKS, ji)) {
+        parser.serumAsks = ji.readString();
+      }
     } else if (fieldEquals("serumBids", buf, offset, len)) {
-      parser.serumBids = ji.readString();
+      if (!parser.skip(SERUM_BIDS, ji)) {
+        parser.serumBids = ji.readString();
+      }
     } else if (fieldEquals("serumCoinVaultAccount", buf, offset, len)) {
-      parser.serumCoinVaultAccount = ji.readString();
+      if (!parser.skip(SERUM_COIN_VAULT_ACCOUNT, ji)) {
+        parser.serumCoinVaultAccount = ji.readString();
+      }
     } else if (fieldEquals("serumEventQueue", buf, offset, len)) {
-      parser.serumEventQueue = ji.readString();
+      if (!parser.skip(SERUM_EVENT_QUEUE, ji)) {
+        parser.serumEventQueue = ji.readString();
+      }
     } else if (fieldEquals("serumPcVaultAccount", buf, offset, len)) {
-      parser.serumPcVaultAccount = ji.readString();
+      if (!parser.skip(SERUM_PC_VAULT_ACCOUNT, ji)) {
+        parser.serumPcVaultAccount = ji.readString();
+      }
     } else if (fieldEquals("serumVaultSigner", buf, offset, len)) {
-      parser.serumVaultSigner = ji.readString();
+      if (!parser.skip(SERUM_VAULT_SIGNER, ji)) {
+        parser.serumVaultSigner = ji.readString();
+      }
     } else if (fieldEquals("routingGroup", buf, offset, len)) {
-      parser.routingGroup = ji.readLong();
+      if (!parser.skip(ROUTING_GROUP, ji)) {
+        parser.routingGroup = ji.readLong();
+      }
     } else if (fieldEquals("amp", buf, offset, len)) {
-      parser.amp = ji.readLong();
+      if (!parser.skip(AMP, ji)) {
+        parser.amp = ji.readLong();
+      }
     } else if (fieldEquals("decimalA", buf, offset, len)) {
-      parser.decimalA = ji.readInt();
+      if (!parser.skip(DECIMAL_A, ji)) {
+        parser.decimalA = ji.readInt();
+      }
     } else if (fieldEquals("decimalB", buf, offset, len)) {
-      parser.decimalB = ji.readInt();
+      if (!parser.skip(DECIMAL_B, ji)) {
+        parser.decimalB = ji.readInt();
+      }
     } else if (fieldEquals("tokenMints", buf, offset, len)) {
-      final var tokenMints = new ArrayList<PublicKey>();
-      while (ji.readArray()) {
-        final var tokenMint = parseBase58Encoded(ji);
-        tokenMints.add(tokenMint);
+      if (!parser.skip(TOKEN_MINTS, ji)) {
+        final var tokenMints = new ArrayList<PublicKey>();
+        while (ji.readArray()) {
+          final var tokenMint = parseBase58Encoded(ji);
+          tokenMints.add(tokenMint);
+        }
+        parser.tokenMints = tokenMints;
       }
-      parser.tokenMints = tokenMints;
     } else {
       final var field = new String(buf, offset, len);
       logger.log(WARNING, String.format("%nUnhandled MarketRecord.params field %s: %s%n", field, ji.currentBuffer()));
@@ -114,8 +158,19 @@ public record MarketRecord(PublicKey pubkey,
     private int decimalA;
     private int decimalB;
     private List<PublicKey> tokenMints;
+    private final Set<MarketRecordField> fields;
 
-    private Parser() {
+    private Parser(final Set<MarketRecordField> fields) {
+      this.fields = fields;
+    }
+
+    private boolean skip(final MarketRecordField field, final JsonIterator ji) {
+      if (fields.contains(field)) {
+        return false;
+      } else {
+        ji.skip();
+        return true;
+      }
     }
 
     private MarketRecord create() {
@@ -146,19 +201,33 @@ public record MarketRecord(PublicKey pubkey,
     @Override
     public boolean test(final char[] buf, final int offset, final int len, final JsonIterator ji) {
       if (fieldEquals("pubkey", buf, offset, len)) {
-        pubkey = parseBase58Encoded(ji);
+        if (!skip(PUBKEY, ji)) {
+          pubkey = parseBase58Encoded(ji);
+        }
       } else if (fieldEquals("lamports", buf, offset, len)) {
-        lamports = ji.readLong();
+        if (!skip(LAMPORTS, ji)) {
+          lamports = ji.readLong();
+        }
       } else if (fieldEquals("data", buf, offset, len)) {
-        data = parseEncodedData(ji);
+        if (!skip(DATA, ji)) {
+          data = parseEncodedData(ji);
+        }
       } else if (fieldEquals("owner", buf, offset, len)) {
-        owner = parseBase58Encoded(ji);
+        if (!skip(OWNER, ji)) {
+          owner = parseBase58Encoded(ji);
+        }
       } else if (fieldEquals("executable", buf, offset, len)) {
-        executable = ji.readBoolean();
+        if (!skip(EXECUTABLE, ji)) {
+          executable = ji.readBoolean();
+        }
       } else if (fieldEquals("rentEpoch", buf, offset, len)) {
-        rentEpoch = ji.readBigInteger();
+        if (!skip(RENT_EPOCH, ji)) {
+          rentEpoch = ji.readBigInteger();
+        }
       } else if (fieldEquals("space", buf, offset, len)) {
-        space = ji.readInt();
+        if (!skip(SPACE, ji)) {
+          space = ji.readInt();
+        }
       } else if (fieldEquals("params", buf, offset, len)) {
         ji.testObject(this, PARAMS_PARSER);
       } else {
@@ -0,0 +1,34 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum MarketRecordField {
+
+  PUBKEY,
+  LAMPORTS,
+  DATA,
+  OWNER,
+  EXECUTABLE,
+  RENT_EPOCH,
+  SPACE,
+  ADDRESS_LOOKUP_TABLE_ADDRESS,
+  VAULT_LP_MINT,
+  VAULT_TOKEN,
+  SERUM_ASKS,
+  SERUM_BIDS,
+  SERUM_COIN_VAULT_ACCOUNT,
+  SERUM_EVENT_QUEUE,
+  SERUM_PC_VAULT_ACCOUNT,
+  SERUM_VAULT_SIGNER,
+  ROUTING_GROUP,
+  AMP,
+  DECIMAL_A,
+  DECIMAL_B,
+  TOKEN_MINTS;
+
+  public static final Set<MarketRecordField> ALL = Collections.unmodifiableSet(EnumSet.allOf(MarketRecordField.class));
+
+  public static final Set<MarketRecordField> WITHOUT_DATA = Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(DATA)));
+}
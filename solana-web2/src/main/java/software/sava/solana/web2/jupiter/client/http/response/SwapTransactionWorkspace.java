@@ -0,0 +1,454 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.lookup.AddressLookupTable;
+import software.sava.core.accounts.meta.AccountMeta;
+import software.sava.core.accounts.meta.LookupTableAccountMeta;
+import software.sava.core.tx.Instruction;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static software.sava.core.accounts.PublicKey.PUBLIC_KEY_LENGTH;
+
+// Encodes unsigned swap transactions straight into a byte array. Accounts are tracked in an
+// open-addressed index table and parallel primitive arrays which are reset in place, so a
+// steady-state call only allocates the returned array, or nothing at all when writing into a
+// caller supplied buffer.
+//
+// Accounts are ordered as fee payer, writable signers, read-only signers, writable and then
+// read-only non-signers, ties broken by public key. Non-signer, non-program accounts found in a
+// lookup table are loaded from the first table containing them.
+public final class SwapTransactionWorkspace {
+
+  private static final ThreadLocal<SwapTransactionWorkspace> WORKSPACES = ThreadLocal.withInitial(SwapTransactionWorkspace::new);
+
+  public static SwapTransactionWorkspace threadLocalWorkspace() {
+    return WORKSPACES.get();
+  }
+
+  public static SwapTransactionWorkspace createWorkspace() {
+    return new SwapTransactionWorkspace();
+  }
+
+  private static final int SIGNATURE_LENGTH = 64;
+  private static final int VERSIONED_PREFIX = 0x80;
+  private static final int MAX_ACCOUNTS = 256;
+  private static final AddressLookupTable[] NO_TABLES = new AddressLookupTable[0];
+
+  private static final byte SIGNER = 1;
+  private static final byte WRITE = 1 << 1;
+  private static final byte INVOKED = 1 << 2;
+
+  private int[] slots;
+  private int slotMask;
+  private PublicKey[] keys;
+  private byte[] keyBytes;
+  private byte[] flags;
+  private int[] tables;
+  private int[] tableIndexes;
+  private int[] sorted;
+  private int[] messageIndexes;
+  private int numAccounts;
+  private int numStatic;
+
+  private Instruction[] instructions;
+  private int numInstructions;
+
+  private SwapTransactionWorkspace() {
+    this.slots = new int[128];
+    this.slotMask = slots.length - 1;
+    this.keys = new PublicKey[64];
+    this.keyBytes = new byte[64 * PUBLIC_KEY_LENGTH];
+    this.flags = new byte[64];
+    this.tables = new int[64];
+    this.tableIndexes = new int[64];
+    this.sorted = new int[64];
+    this.messageIndexes = new int[64];
+    this.instructions = new Instruction[16];
+  }
+
+  private void reset(final JupiterSwapInstructions swapInstructions) {
+    Arrays.fill(slots, 0);
+    Arrays.fill(keys, 0, numAccounts, null);
+    numAccounts = 0;
+
+    final int numInstructions = swapInstructions.numInstructions();
+    if (numInstructions > instructions.length) {
+      instructions = new Instruction[Math.max(numInstructions, instructions.length << 1)];
+    } else if (numInstructions < this.numInstructions) {
+      Arrays.fill(instructions, numInstructions, this.numInstructions, null);
+    }
+    this.numInstructions = 0;
+
+    addAccount(swapInstructions.feePayer(), (byte) (SIGNER | WRITE));
+    final var tokenLedgerInstruction = swapInstructions.tokenLedgerInstruction();
+    if (tokenLedgerInstruction != null) {
+      addInstruction(tokenLedgerInstruction);
+    }
+    for (final var instruction : swapInstructions.computeBudgetInstructions()) {
+      addInstruction(instruction);
+    }
+    for (final var instruction : swapInstructions.setupInstructions()) {
+      addInstruction(instruction);
+    }
+    addInstruction(swapInstructions.swapInstruction());
+    final var cleanupInstruction = swapInstructions.cleanupInstruction();
+    if (cleanupInstruction != null) {
+      addInstruction(cleanupInstruction);
+    }
+    for (final var instruction : swapInstructions.otherInstructions()) {
+      addInstruction(instruction);
+    }
+  }
+
+  private void addInstruction(final Instruction instruction) {
+    instructions[numInstructions++] = instruction;
+    addAccount(instruction.programId().publicKey(), INVOKED);
+    for (final var account : instruction.accounts()) {
+      addAccount(account);
+    }
+  }
+
+  private void addAccount(final AccountMeta account) {
+    final byte flags = (byte) ((account.signer() ? SIGNER : 0) | (account.write() ? WRITE : 0));
+    addAccount(account.publicKey(), flags);
+  }
+
+  private void addAccount(final PublicKey key, final byte accountFlags) {
+    int slot = key.hashCode() & slotMask;
+    for (int index; (index = slots[slot]) != 0; slot = (slot + 1) & slotMask) {
+      if (keys[index - 1].equals(key)) {
+        flags[index - 1] |= accountFlags;
+        return;
+      }
+    }
+    if (numAccounts == keys.length) {
+      grow();
+      addAccount(key, accountFlags);
+      return;
+    }
+    final int index = numAccounts++;
+    keys[index] = key;
+    key.write(keyBytes, index * PUBLIC_KEY_LENGTH);
+    flags[index] = accountFlags;
+    slots[slot] = index + 1;
+  }
+
+  private void grow() {
+    final int capacity = keys.length << 1;
+    keys = Arrays.copyOf(keys, capacity);
+    keyBytes = Arrays.copyOf(keyBytes, capacity * PUBLIC_KEY_LENGTH);
+    flags = Arrays.copyOf(flags, capacity);
+    tables = new int[capacity];
+    tableIndexes = new int[capacity];
+    sorted = new int[capacity];
+    messageIndexes = new int[capacity];
+
+    slots = new int[capacity << 1];
+    slotMask = slots.length - 1;
+    for (int index = 0; index < numAccounts; ++index) {
+      int slot = keys[index].hashCode() & slotMask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & slotMask;
+      }
+      slots[slot] = index + 1;
+    }
+  }
+
+  private static int accountClass(final byte flags) {
+    if ((flags & SIGNER) != 0) {
+      return (flags & WRITE) != 0 ? 0 : 1;
+    } else {
+      return (flags & WRITE) != 0 ? 2 : 3;
+    }
+  }
+
+  private int compareAccounts(final int a, final int b) {
+    final int compare = Integer.compare(accountClass(flags[a]), accountClass(flags[b]));
+    if (compare != 0) {
+      return compare;
+    }
+    final int fromA = a * PUBLIC_KEY_LENGTH;
+    final int fromB = b * PUBLIC_KEY_LENGTH;
+    return Arrays.compareUnsigned(
+        keyBytes, fromA, fromA + PUBLIC_KEY_LENGTH,
+        keyBytes, fromB, fromB + PUBLIC_KEY_LENGTH
+    );
+  }
+
+  // Sorts every account after the fee payer, assigns lookup table entries and returns the
+  // number of tables referenced.
+  private int layoutAccounts(final AddressLookupTable[] lookupTables) {
+    if (numAccounts > MAX_ACCOUNTS) {
+      throw new IllegalStateException(String.format(
+          "Swap transaction references %d accounts, at most %d can be indexed.", numAccounts, MAX_ACCOUNTS
+      ));
+    }
+    sorted[0] = 0;
+    for (int i = 1; i < numAccounts; ++i) {
+      int j = i;
+      for (; j > 1 && compareAccounts(sorted[j - 1], i) > 0; --j) {
+        sorted[j] = sorted[j - 1];
+      }
+      sorted[j] = i;
+    }
+
+    numStatic = 0;
+    for (int i = 0; i < numAccounts; ++i) {
+      final int account = sorted[i];
+      tables[account] = -1;
+      if ((flags[account] & (SIGNER | INVOKED)) == 0) {
+        for (int t = 0; t < lookupTables.length; ++t) {
+          final int tableIndex = lookupTables[t].indexOf(keys[account]);
+          if (tableIndex >= 0) {
+            tables[account] = t;
+            tableIndexes[account] = tableIndex;
+            break;
+          }
+        }
+      }
+      if (tables[account] < 0) {
+        messageIndexes[account] = numStatic++;
+      }
+    }
+
+    int messageIndex = numStatic;
+    for (int t = 0; t < lookupTables.length; ++t) {
+      messageIndex = assignLoadedIndexes(t, WRITE, messageIndex);
+    }
+    for (int t = 0; t < lookupTables.length; ++t) {
+      messageIndex = assignLoadedIndexes(t, 0, messageIndex);
+    }
+    int numTablesReferenced = 0;
+    for (int t = 0; t < lookupTables.length; ++t) {
+      if (references(t)) {
+        ++numTablesReferenced;
+      }
+    }
+    return numTablesReferenced;
+  }
+
+  private int assignLoadedIndexes(final int table, final int write, int messageIndex) {
+    for (int i = 0; i < numAccounts; ++i) {
+      final int account = sorted[i];
+      if (tables[account] == table && (flags[account] & WRITE) == write) {
+        messageIndexes[account] = messageIndex++;
+      }
+    }
+    return messageIndex;
+  }
+
+  private boolean references(final int table) {
+    for (int i = 0; i < numAccounts; ++i) {
+      if (tables[i] == table) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int countTableEntries(final int table, final int write) {
+    int count = 0;
+    for (int i = 0; i < numAccounts; ++i) {
+      final int account = sorted[i];
+      if (tables[account] == table && (flags[account] & WRITE) == write) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private static int compactLength(final int value) {
+    return value < 0x80 ? 1 : value < 0x4000 ? 2 : 3;
+  }
+
+  private static int writeCompact(final int value, final byte[] out, int i) {
+    int remaining = value;
+    for (; ; ) {
+      final int b = remaining & 0x7F;
+      remaining >>>= 7;
+      if (remaining == 0) {
+        out[i++] = (byte) b;
+        return i;
+      } else {
+        out[i++] = (byte) (b | 0x80);
+      }
+    }
+  }
+
+  private int serializedLength(final AddressLookupTable[] lookupTables, final int numTablesReferenced) {
+    int numSigners = 0;
+    for (int i = 0; i < numAccounts; ++i) {
+      if ((flags[i] & SIGNER) != 0) {
+        ++numSigners;
+      }
+    }
+    int length = compactLength(numSigners) + (numSigners * SIGNATURE_LENGTH)
+        + (lookupTables == NO_TABLES ? 0 : 1)
+        + 3
+        + compactLength(numStatic) + (numStatic * PUBLIC_KEY_LENGTH)
+        + PUBLIC_KEY_LENGTH
+        + compactLength(numInstructions);
+    for (int i = 0; i < numInstructions; ++i) {
+      final var instruction = instructions[i];
+      final int numIxAccounts = instruction.accounts().size();
+      final int dataLength = instruction.len();
+      length += 1 + compactLength(numIxAccounts) + numIxAccounts + compactLength(dataLength) + dataLength;
+    }
+    if (lookupTables != NO_TABLES) {
+      length += compactLength(numTablesReferenced);
+      for (int t = 0; t < lookupTables.length; ++t) {
+        if (references(t)) {
+          final int numWrite = countTableEntries(t, WRITE);
+          final int numRead = countTableEntries(t, 0);
+          length += PUBLIC_KEY_LENGTH + compactLength(numWrite) + numWrite + compactLength(numRead) + numRead;
+        }
+      }
+    }
+    return length;
+  }
+
+  private int writeTableEntries(final int table, final int write, final byte[] out, int i) {
+    i = writeCompact(countTableEntries(table, write), out, i);
+    for (int s = 0; s < numAccounts; ++s) {
+      final int account = sorted[s];
+      if (tables[account] == table && (flags[account] & WRITE) == write) {
+        out[i++] = (byte) tableIndexes[account];
+      }
+    }
+    return i;
+  }
+
+  private int messageIndex(final PublicKey key) {
+    int slot = key.hashCode() & slotMask;
+    for (int index; ; slot = (slot + 1) & slotMask) {
+      index = slots[slot] - 1;
+      if (keys[index].equals(key)) {
+        return messageIndexes[index];
+      }
+    }
+  }
+
+  private int encode(final AddressLookupTable[] lookupTables,
+                     final int numTablesReferenced,
+                     final byte[] out,
+                     final int offset) {
+    int numSigners = 0;
+    int numReadOnlySigners = 0;
+    int numReadOnly = 0;
+    for (int i = 0; i < numAccounts; ++i) {
+      final byte accountFlags = flags[i];
+      if ((accountFlags & SIGNER) != 0) {
+        ++numSigners;
+        if ((accountFlags & WRITE) == 0) {
+          ++numReadOnlySigners;
+        }
+      } else if ((accountFlags & WRITE) == 0 && tables[i] < 0) {
+        ++numReadOnly;
+      }
+    }
+
+    int i = writeCompact(numSigners, out, offset);
+    final int signaturesEnd = i + (numSigners * SIGNATURE_LENGTH);
+    Arrays.fill(out, i, signaturesEnd, (byte) 0);
+    i = signaturesEnd;
+
+    if (lookupTables != NO_TABLES) {
+      out[i++] = (byte) VERSIONED_PREFIX;
+    }
+    out[i++] = (byte) numSigners;
+    out[i++] = (byte) numReadOnlySigners;
+    out[i++] = (byte) numReadOnly;
+
+    i = writeCompact(numStatic, out, i);
+    for (int s = 0; s < numAccounts; ++s) {
+      final int account = sorted[s];
+      if (tables[account] < 0) {
+        System.arraycopy(keyBytes, account * PUBLIC_KEY_LENGTH, out, i, PUBLIC_KEY_LENGTH);
+        i += PUBLIC_KEY_LENGTH;
+      }
+    }
+    // Recent blockhash is left zeroed for the signer to fill in.
+    Arrays.fill(out, i, i + PUBLIC_KEY_LENGTH, (byte) 0);
+    i += PUBLIC_KEY_LENGTH;
+
+    i = writeCompact(numInstructions, out, i);
+    for (int ix = 0; ix < numInstructions; ++ix) {
+      final var instruction = instructions[ix];
+      out[i++] = (byte) messageIndex(instruction.programId().publicKey());
+      final var accounts = instruction.accounts();
+      i = writeCompact(accounts.size(), out, i);
+      for (final var account : accounts) {
+        out[i++] = (byte) messageIndex(account.publicKey());
+      }
+      final int dataLength = instruction.len();
+      i = writeCompact(dataLength, out, i);
+      System.arraycopy(instruction.data(), instruction.offset(), out, i, dataLength);
+      i += dataLength;
+    }
+
+    if (lookupTables != NO_TABLES) {
+      i = writeCompact(numTablesReferenced, out, i);
+      for (int t = 0; t < lookupTables.length; ++t) {
+        if (references(t)) {
+          lookupTables[t].address().write(out, i);
+          i += PUBLIC_KEY_LENGTH;
+          i = writeTableEntries(t, WRITE, out, i);
+          i = writeTableEntries(t, 0, out, i);
+        }
+      }
+    }
+    return i - offset;
+  }
+
+  // Writes the unsigned transaction into out starting at offset and returns the number of bytes
+  // written. Throws IndexOutOfBoundsException without writing anything if out is too small.
+  public int write(final JupiterSwapInstructions swapInstructions, final byte[] out, final int offset) {
+    return write(swapInstructions, NO_TABLES, out, offset);
+  }
+
+  public int write(final JupiterSwapInstructions swapInstructions,
+                   final AddressLookupTable lookupTable,
+                   final byte[] out,
+                   final int offset) {
+    return write(swapInstructions, new AddressLookupTable[]{lookupTable}, out, offset);
+  }
+
+  public int write(final JupiterSwapInstructions swapInstructions,
+                   final AddressLookupTable[] lookupTables,
+                   final byte[] out,
+                   final int offset) {
+    reset(swapInstructions);
+    final var tables = lookupTables.length == 0 ? NO_TABLES : lookupTables;
+    final int numTablesReferenced = layoutAccounts(tables);
+    Objects.checkFromIndexSize(offset, serializedLength(tables, numTablesReferenced), out.length);
+    return encode(tables, numTablesReferenced, out, offset);
+  }
+
+  public byte[] serialize(final JupiterSwapInstructions swapInstructions) {
+    return serialize(swapInstructions, NO_TABLES);
+  }
+
+  public byte[] serialize(final JupiterSwapInstructions swapInstructions, final AddressLookupTable lookupTable) {
+    return serialize(swapInstructions, new AddressLookupTable[]{lookupTable});
+  }
+
+  public byte[] serialize(final JupiterSwapInstructions swapInstructions,
+                          final LookupTableAccountMeta[] tableAccountMetas) {
+    final var lookupTables = new AddressLookupTable[tableAccountMetas.length];
+    for (int i = 0; i < tableAccountMetas.length; ++i) {
+      lookupTables[i] = tableAccountMetas[i].lookupTable();
+    }
+    return serialize(swapInstructions, lookupTables);
+  }
+
+  public byte[] serialize(final JupiterSwapInstructions swapInstructions, final AddressLookupTable[] lookupTables) {
+    reset(swapInstructions);
+    final var tables = lookupTables.length == 0 ? NO_TABLES : lookupTables;
+    final int numTablesReferenced = layoutAccounts(tables);
+    final byte[] out = new byte[serializedLength(tables, numTablesReferenced)];
+    encode(tables, numTablesReferenced, out, 0);
+    return out;
+  }
+}
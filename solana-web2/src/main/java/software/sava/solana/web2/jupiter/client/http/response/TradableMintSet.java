@@ -0,0 +1,169 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.encoding.Base58;
+import systems.comodal.jsoniter.JsonIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public final class TradableMintSet {
+
+  private static final int KEY_LENGTH = PublicKey.PUBLIC_KEY_LENGTH;
+  private static final int DECODE_CHUNK = 4_096;
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[KEY_LENGTH]);
+
+  private final byte[] keys;
+  private final int size;
+
+  private TradableMintSet(final byte[] keys, final int size) {
+    this.keys = keys;
+    this.size = size;
+  }
+
+  public static TradableMintSet parse(final JsonIterator ji) {
+    final var encoded = new ArrayList<String>(1_048_576);
+    while (ji.readArray()) {
+      encoded.add(ji.readString());
+    }
+    return createSet(encoded.toArray(String[]::new));
+  }
+
+  public static TradableMintSet createSet(final String[] base58Mints) {
+    final int numMints = base58Mints.length;
+    final byte[] keys = new byte[numMints * KEY_LENGTH];
+    final int numChunks = (numMints + DECODE_CHUNK - 1) / DECODE_CHUNK;
+    IntStream.range(0, numChunks).parallel().forEach(chunk -> {
+      final int to = Math.min(numMints, (chunk + 1) * DECODE_CHUNK);
+      for (int i = chunk * DECODE_CHUNK; i < to; ++i) {
+        final byte[] decoded = Base58.decode(base58Mints[i]);
+        if (decoded.length != KEY_LENGTH) {
+          throw new IllegalArgumentException("Invalid mint: " + base58Mints[i]);
+        }
+        System.arraycopy(decoded, 0, keys, i * KEY_LENGTH, KEY_LENGTH);
+      }
+    });
+    return sortedSet(keys, numMints);
+  }
+
+  public static TradableMintSet createSet(final Iterable<PublicKey> mints) {
+    byte[] keys = new byte[1_024 * KEY_LENGTH];
+    int numMints = 0;
+    for (final var mint : mints) {
+      if ((numMints + 1) * KEY_LENGTH > keys.length) {
+        keys = Arrays.copyOf(keys, keys.length << 1);
+      }
+      mint.write(keys, numMints * KEY_LENGTH);
+      ++numMints;
+    }
+    return sortedSet(keys, numMints);
+  }
+
+  private static TradableMintSet sortedSet(final byte[] keys, final int numMints) {
+    if (numMints == 0) {
+      return new TradableMintSet(keys, 0);
+    }
+    sort(keys, 0, numMints - 1, new byte[KEY_LENGTH]);
+    int size = 1;
+    for (int i = 1; i < numMints; ++i) {
+      if (compare(keys, i, keys, size - 1) != 0) {
+        if (i != size) {
+          System.arraycopy(keys, i * KEY_LENGTH, keys, size * KEY_LENGTH, KEY_LENGTH);
+        }
+        ++size;
+      }
+    }
+    return new TradableMintSet(size * KEY_LENGTH == keys.length ? keys : Arrays.copyOf(keys, size * KEY_LENGTH), size);
+  }
+
+  private static int compare(final byte[] a, final int i, final byte[] b, final int j) {
+    final int from = i * KEY_LENGTH;
+    final int bFrom = j * KEY_LENGTH;
+    return Arrays.compareUnsigned(a, from, from + KEY_LENGTH, b, bFrom, bFrom + KEY_LENGTH);
+  }
+
+  private static void swap(final byte[] keys, final int i, final int j, final byte[] tmp) {
+    final int a = i * KEY_LENGTH;
+    final int b = j * KEY_LENGTH;
+    System.arraycopy(keys, a, tmp, 0, KEY_LENGTH);
+    System.arraycopy(keys, b, keys, a, KEY_LENGTH);
+    System.arraycopy(tmp, 0, keys, b, KEY_LENGTH);
+  }
+
+  private static void sort(final byte[] keys, int lo, int hi, final byte[] tmp) {
+    while (hi - lo > INSERTION_SORT_THRESHOLD) {
+      final int mid = (lo + hi) >>> 1;
+      if (compare(keys, mid, keys, lo) < 0) {
+        swap(keys, mid, lo, tmp);
+      }
+      if (compare(keys, hi, keys, lo) < 0) {
+        swap(keys, hi, lo, tmp);
+      }
+      if (compare(keys, hi, keys, mid) < 0) {
+        swap(keys, hi, mid, tmp);
+      }
+      // Park the median at hi - 1 and partition the range between lo and hi - 1.
+      swap(keys, mid, hi - 1, tmp);
+      final int pivot = hi - 1;
+      int i = lo;
+      int j = pivot;
+      for (; ; ) {
+        while (compare(keys, ++i, keys, pivot) < 0) {
+        }
+        while (compare(keys, --j, keys, pivot) > 0) {
+        }
+        if (i >= j) {
+          break;
+        }
+        swap(keys, i, j, tmp);
+      }
+      swap(keys, i, pivot, tmp);
+      if (i - lo < hi - i) {
+        sort(keys, lo, i - 1, tmp);
+        lo = i + 1;
+      } else {
+        sort(keys, i + 1, hi, tmp);
+        hi = i - 1;
+      }
+    }
+    for (int i = lo + 1; i <= hi; ++i) {
+      for (int j = i; j > lo && compare(keys, j, keys, j - 1) < 0; --j) {
+        swap(keys, j, j - 1, tmp);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean contains(final byte[] key, final int offset) {
+    int lo = 0;
+    int hi = size - 1;
+    while (lo <= hi) {
+      final int mid = (lo + hi) >>> 1;
+      final int from = mid * KEY_LENGTH;
+      final int cmp = Arrays.compareUnsigned(keys, from, from + KEY_LENGTH, key, offset, offset + KEY_LENGTH);
+      if (cmp < 0) {
+        lo = mid + 1;
+      } else if (cmp > 0) {
+        hi = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean contains(final PublicKey mint) {
+    final byte[] scratch = SCRATCH.get();
+    mint.write(scratch, 0);
+    return contains(scratch, 0);
+  }
+
+  public PublicKey get(final int index) {
+    return PublicKey.readPubKey(keys, index * KEY_LENGTH);
+  }
+}
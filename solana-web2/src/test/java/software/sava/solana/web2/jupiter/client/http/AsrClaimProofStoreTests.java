@@ -0,0 +1,139 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimAsrProof;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimProof;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.solana.web2.jupiter.client.http.TestKeys.randomKey;
+
+final class AsrClaimProofStoreTests {
+
+  private static final String TIMELINE = "jan-2026";
+
+  @TempDir
+  Path tempDir;
+
+  private static ClaimAsrProof randomProof(final Random random, final PublicKey mint) {
+    final var proof = new byte[3][AsrMerkleProofs.HASH_LENGTH];
+    for (final byte[] element : proof) {
+      random.nextBytes(element);
+    }
+    final var claim = new ClaimProof(mint, randomKey(random), random.nextLong(1, 1_000_000), 0, proof);
+    return new ClaimAsrProof(List.of(claim), random.nextInt(100), 0);
+  }
+
+  private static void assertSameProof(final ClaimAsrProof expected, final ClaimAsrProof actual) {
+    assertNotNull(actual);
+    assertEquals(expected.voteCount(), actual.voteCount());
+    assertEquals(expected.voteCountExtra(), actual.voteCountExtra());
+    assertEquals(expected.claimProof().size(), actual.claimProof().size());
+    for (int i = 0; i < expected.claimProof().size(); ++i) {
+      final var a = expected.claimProof().get(i);
+      final var b = actual.claimProof().get(i);
+      assertEquals(a.mint(), b.mint());
+      assertEquals(a.merkleTree(), b.merkleTree());
+      assertEquals(a.amount(), b.amount());
+      assertEquals(a.lockedAmount(), b.lockedAmount());
+      assertArrayEquals(a.proof(), b.proof());
+    }
+  }
+
+  @Test
+  void reopensAppendedProofs() throws IOException {
+    final var random = new Random(1);
+    final var path = tempDir.resolve("asr.proofs");
+    final var mintA = randomKey(random);
+    final var mintB = randomKey(random);
+    final var account = randomKey(random);
+    final var proof = randomProof(random, mintA);
+    try (final var store = AsrClaimProofStore.open(path)) {
+      assertTrue(store.append(account, TIMELINE, List.of(mintB, mintA), proof));
+      assertFalse(store.append(account, TIMELINE, List.of(mintA, mintB), proof));
+      store.force();
+    }
+    try (final var store = AsrClaimProofStore.open(path)) {
+      assertEquals(1, store.size());
+      assertSameProof(proof, store.get(account, TIMELINE, List.of(mintA, mintB)));
+      assertNull(store.get(account, TIMELINE, List.of(mintA)));
+      assertNull(store.get(account, "feb-2026", List.of(mintA, mintB)));
+    }
+  }
+
+  @Test
+  void discardsATornTrailingRecord() throws IOException {
+    final var random = new Random(2);
+    final var path = tempDir.resolve("asr.proofs");
+    final var mint = randomKey(random);
+    final var first = randomKey(random);
+    final var second = randomKey(random);
+    final var firstProof = randomProof(random, mint);
+    final long intactLength;
+    try (final var store = AsrClaimProofStore.open(path)) {
+      store.append(first, TIMELINE, List.of(mint), firstProof);
+      store.force();
+      intactLength = Files.size(path);
+      store.append(second, TIMELINE, List.of(mint), randomProof(random, mint));
+      store.force();
+    }
+    final long fullLength = Files.size(path);
+    try (final var channel = FileChannel.open(path, WRITE)) {
+      channel.truncate(intactLength + ((fullLength - intactLength) / 2));
+    }
+
+    try (final var store = AsrClaimProofStore.open(path)) {
+      assertEquals(1, store.size());
+      assertSameProof(firstProof, store.get(first, TIMELINE, List.of(mint)));
+      assertFalse(store.contains(second, TIMELINE, List.of(mint)));
+      assertEquals(intactLength, Files.size(path));
+
+      final var secondProof = randomProof(random, mint);
+      assertTrue(store.append(second, TIMELINE, List.of(mint), secondProof));
+      store.force();
+    }
+    try (final var store = AsrClaimProofStore.open(path)) {
+      assertEquals(2, store.size());
+      assertTrue(store.contains(second, TIMELINE, List.of(mint)));
+    }
+  }
+
+  @Test
+  void discardsACorruptTrailingRecord() throws IOException {
+    final var random = new Random(3);
+    final var path = tempDir.resolve("asr.proofs");
+    final var mint = randomKey(random);
+    final var first = randomKey(random);
+    final long intactLength;
+    try (final var store = AsrClaimProofStore.open(path)) {
+      store.append(first, TIMELINE, List.of(mint), randomProof(random, mint));
+      store.force();
+      intactLength = Files.size(path);
+      store.append(randomKey(random), TIMELINE, List.of(mint), randomProof(random, mint));
+      store.force();
+    }
+    try (final var channel = FileChannel.open(path, READ, WRITE)) {
+      final long position = channel.size() - 8;
+      final var flipped = ByteBuffer.allocate(1);
+      channel.read(flipped, position);
+      flipped.put(0, (byte) ~flipped.get(0)).rewind();
+      channel.write(flipped, position);
+    }
+    try (final var store = AsrClaimProofStore.open(path)) {
+      assertEquals(1, store.size());
+      assertTrue(store.contains(first, TIMELINE, List.of(mint)));
+      assertEquals(intactLength, Files.size(path));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.response.ClaimProof;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.solana.web2.jupiter.client.http.TestKeys.randomKey;
+
+final class AsrMerkleProofsTests {
+
+  private static byte[] sha256(final byte[]... parts) {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+      for (final byte[] part : parts) {
+        digest.update(part);
+      }
+      return digest.digest();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static byte[] leaf(final PublicKey claimant, final long amountUnlocked, final long amountLocked) {
+    final var node = ByteBuffer.allocate(PublicKey.PUBLIC_KEY_LENGTH + (Long.BYTES << 1)).order(ByteOrder.LITTLE_ENDIAN);
+    node.put(claimant.toByteArray()).putLong(amountUnlocked).putLong(amountLocked);
+    return sha256(new byte[]{0}, sha256(node.array()));
+  }
+
+  private static byte[] parent(final byte[] a, final byte[] b) {
+    return Arrays.compareUnsigned(a, b) <= 0
+        ? sha256(new byte[]{1}, a, b)
+        : sha256(new byte[]{1}, b, a);
+  }
+
+  @Test
+  void leafMatchesTheDistributorEncoding() {
+    final var claimant = randomKey(new Random(3));
+    assertArrayEquals(leaf(claimant, 1_000, 250), AsrMerkleProofs.leaf(claimant, 1_000, 250));
+  }
+
+  @Test
+  void verifiesEveryClaimInATree() {
+    final var random = new Random(5);
+    final var mint = randomKey(random);
+    final var merkleTree = randomKey(random);
+    final var claimants = new PublicKey[4];
+    final long[] amounts = {10, 2_000, 300_000, 40_000_000};
+    final var leaves = new byte[4][];
+    for (int i = 0; i < leaves.length; ++i) {
+      claimants[i] = randomKey(random);
+      leaves[i] = leaf(claimants[i], amounts[i], i);
+    }
+    final byte[] left = parent(leaves[0], leaves[1]);
+    final byte[] right = parent(leaves[2], leaves[3]);
+    final byte[] root = parent(left, right);
+
+    final byte[][][] proofs = {
+        {leaves[1], right},
+        {leaves[0], right},
+        {leaves[3], left},
+        {leaves[2], left}
+    };
+    for (int i = 0; i < claimants.length; ++i) {
+      final var claim = new ClaimProof(mint, merkleTree, amounts[i], i, proofs[i]);
+      assertTrue(AsrMerkleProofs.verify(claimants[i], claim, root), "claim " + i);
+
+      final var wrongAmount = new ClaimProof(mint, merkleTree, amounts[i] + 1, i, proofs[i]);
+      assertFalse(AsrMerkleProofs.verify(claimants[i], wrongAmount, root), "amount " + i);
+
+      final var wrongClaimant = claimants[(i + 1) % claimants.length];
+      assertFalse(AsrMerkleProofs.verify(wrongClaimant, claim, root), "claimant " + i);
+    }
+
+    final var tampered = new byte[][]{leaves[1].clone(), right};
+    tampered[0][0] ^= 1;
+    assertFalse(AsrMerkleProofs.verify(claimants[0], new ClaimProof(mint, merkleTree, amounts[0], 0, tampered), root));
+  }
+
+  @Test
+  void singleLeafTreesHaveTheLeafAsRoot() {
+    final var claimant = randomKey(new Random(9));
+    final byte[] root = leaf(claimant, 42, 0);
+    final var claim = new ClaimProof(null, null, 42, 0, null);
+    assertTrue(AsrMerkleProofs.verify(claimant, claim, root));
+  }
+
+  @Test
+  void readsTheRootFromDistributorData() {
+    final byte[] data = new byte[AsrMerkleProofs.MERKLE_ROOT_OFFSET + AsrMerkleProofs.HASH_LENGTH + 64];
+    new Random(11).nextBytes(data);
+    assertArrayEquals(
+        Arrays.copyOfRange(data, AsrMerkleProofs.MERKLE_ROOT_OFFSET, AsrMerkleProofs.MERKLE_ROOT_OFFSET + AsrMerkleProofs.HASH_LENGTH),
+        AsrMerkleProofs.readRoot(data)
+    );
+    assertThrows(IllegalStateException.class, () -> AsrMerkleProofs.readRoot(new byte[AsrMerkleProofs.MERKLE_ROOT_OFFSET]));
+    assertThrows(IllegalStateException.class, () -> AsrMerkleProofs.readRoot(null));
+  }
+}
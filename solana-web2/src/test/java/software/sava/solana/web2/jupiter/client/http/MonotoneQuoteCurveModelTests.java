@@ -0,0 +1,110 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class MonotoneQuoteCurveModelTests {
+
+  private static final double DELTA = 1e-9;
+
+  private static double hermite(final double[] x, final double[] y, final double[] tangents, final int k, final double amount) {
+    final double h = x[k + 1] - x[k];
+    final double t = (amount - x[k]) / h;
+    final double t2 = t * t;
+    final double t3 = t2 * t;
+    return ((2 * t3 - 3 * t2 + 1) * y[k])
+        + ((t3 - 2 * t2 + t) * h * tangents[k])
+        + ((-2 * t3 + 3 * t2) * y[k + 1])
+        + ((t3 - t2) * h * tangents[k + 1]);
+  }
+
+  @Test
+  void poolAdjacentViolatorsLeavesMonotoneInputUntouched() {
+    final double[] y = {0, 1, 1, 5, 9};
+    MonotoneQuoteCurveModel.poolAdjacentViolators(y);
+    assertArrayEquals(new double[]{0, 1, 1, 5, 9}, y, DELTA);
+  }
+
+  @Test
+  void poolAdjacentViolatorsAveragesViolatingBlocks() {
+    final double[] y = {0, 4, 2, 6};
+    MonotoneQuoteCurveModel.poolAdjacentViolators(y);
+    assertArrayEquals(new double[]{0, 3, 3, 6}, y, DELTA);
+
+    // Merging one violation can expose another with the preceding block.
+    final double[] cascade = {0, 5, 6, 1, 10};
+    MonotoneQuoteCurveModel.poolAdjacentViolators(cascade);
+    assertArrayEquals(new double[]{0, 4, 4, 4, 10}, cascade, DELTA);
+
+    final double[] decreasing = {9, 6, 3};
+    MonotoneQuoteCurveModel.poolAdjacentViolators(decreasing);
+    assertArrayEquals(new double[]{6, 6, 6}, decreasing, DELTA);
+  }
+
+  @Test
+  void poolAdjacentViolatorsProducesNonDecreasingOutput() {
+    final var random = new Random(21);
+    for (int trial = 0; trial < 100; ++trial) {
+      final double[] y = new double[2 + random.nextInt(30)];
+      double sum = 0;
+      for (int i = 0; i < y.length; ++i) {
+        y[i] = random.nextDouble() * 1_000;
+        sum += y[i];
+      }
+      MonotoneQuoteCurveModel.poolAdjacentViolators(y);
+      double pooledSum = 0;
+      for (int i = 0; i < y.length; ++i) {
+        if (i > 0) {
+          assertTrue(y[i - 1] <= y[i] + DELTA);
+        }
+        pooledSum += y[i];
+      }
+      assertEquals(sum, pooledSum, 1e-6);
+    }
+  }
+
+  @Test
+  void fritschCarlsonTangentsFollowLinearData() {
+    final double[] x = {0, 10, 20, 40};
+    final double[] y = {0, 20, 40, 80};
+    assertArrayEquals(new double[]{2, 2, 2, 2}, MonotoneQuoteCurveModel.fritschCarlsonTangents(x, y), DELTA);
+  }
+
+  @Test
+  void fritschCarlsonTangentsFlattenPlateaus() {
+    final double[] x = {0, 1, 2, 3};
+    final double[] y = {0, 5, 5, 9};
+    final double[] tangents = MonotoneQuoteCurveModel.fritschCarlsonTangents(x, y);
+    assertEquals(0, tangents[1], DELTA);
+    assertEquals(0, tangents[2], DELTA);
+  }
+
+  @Test
+  void fritschCarlsonInterpolationIsMonotone() {
+    final var random = new Random(34);
+    for (int trial = 0; trial < 100; ++trial) {
+      final int n = 3 + random.nextInt(12);
+      final double[] x = new double[n];
+      final double[] y = new double[n];
+      for (int i = 1; i < n; ++i) {
+        x[i] = x[i - 1] + 1 + (random.nextDouble() * 1_000);
+        // Sharp jumps next to flat stretches are where unconstrained cubic tangents overshoot.
+        y[i] = y[i - 1] + (random.nextInt(3) == 0 ? 0 : random.nextDouble() * random.nextDouble() * 10_000);
+      }
+      final double[] tangents = MonotoneQuoteCurveModel.fritschCarlsonTangents(x, y);
+      for (int k = 0; k < n - 1; ++k) {
+        double previous = y[k];
+        for (int step = 1; step <= 32; ++step) {
+          final double amount = x[k] + ((x[k + 1] - x[k]) * step / 32);
+          final double value = hermite(x, y, tangents, k, amount);
+          assertTrue(value >= previous - 1e-6, "interval " + k + " decreases at " + amount);
+          assertTrue(value <= y[k + 1] + 1e-6, "interval " + k + " overshoots at " + amount);
+          previous = value;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.solana.web2.jupiter.client.http.request.JupiterQuoteRequest;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterQuote;
+import software.sava.solana.web2.jupiter.client.http.response.JupiterRoute;
+import software.sava.solana.web2.jupiter.client.http.response.SwapMode;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.solana.web2.jupiter.client.http.TestKeys.randomKey;
+
+final class RouteHistoryDexPrunerTests {
+
+  private static final Random RANDOM = new Random(31);
+  private static final PublicKey INPUT_MINT = randomKey(RANDOM);
+  private static final PublicKey OUTPUT_MINT = randomKey(RANDOM);
+  private static final JupiterQuoteRequest REQUEST = JupiterQuoteRequest.buildRequest()
+      .inputTokenMint(INPUT_MINT)
+      .outputTokenMint(OUTPUT_MINT)
+      .amount(1_000)
+      .create();
+
+  private static JupiterQuote quote(final String label) {
+    final var route = new JupiterRoute(
+        randomKey(RANDOM), label, INPUT_MINT, OUTPUT_MINT, 1_000, 990, 1, INPUT_MINT, 100
+    );
+    return new JupiterQuote(
+        INPUT_MINT, 1_000, OUTPUT_MINT, 990, 985, SwapMode.ExactIn, 50,
+        null, BigDecimal.ZERO, List.of(route), 0, 0, null
+    );
+  }
+
+  // Only getQuote is served, every other client call fails the test.
+  private static JupiterClient quoteClient(final Function<JupiterQuoteRequest, CompletableFuture<JupiterQuote>> quotes) {
+    return (JupiterClient) Proxy.newProxyInstance(
+        JupiterClient.class.getClassLoader(),
+        new Class<?>[]{JupiterClient.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("getQuote") && args != null && args[0] instanceof JupiterQuoteRequest quoteRequest) {
+            return quotes.apply(quoteRequest);
+          }
+          throw new UnsupportedOperationException(method.getName());
+        }
+    );
+  }
+
+  private static JupiterClient unusedClient() {
+    return quoteClient(ignored -> {
+      throw new UnsupportedOperationException();
+    });
+  }
+
+  private static void recordQuotes(final JupiterDexPruner pruner, final String label, final int count) {
+    for (int i = 0; i < count; ++i) {
+      pruner.record(REQUEST, quote(label));
+    }
+  }
+
+  @Test
+  void selectsUntilCoverageOrMaxDexes() {
+    var pruner = JupiterDexPruner.createPruner(unusedClient(), 4, 1_000, 8, 0.9, 1);
+    recordQuotes(pruner, "A", 6);
+    recordQuotes(pruner, "B", 3);
+    recordQuotes(pruner, "C", 1);
+    assertEquals(List.of("A", "B"), pruner.winningDexes(INPUT_MINT, OUTPUT_MINT, BigInteger.valueOf(1_000)));
+    assertEquals(List.of("A", "B"), List.copyOf(pruner.prune(REQUEST).dexes()));
+
+    pruner = JupiterDexPruner.createPruner(unusedClient(), 4, 1_000, 1, 1, 1);
+    recordQuotes(pruner, "A", 6);
+    recordQuotes(pruner, "B", 3);
+    recordQuotes(pruner, "C", 1);
+    assertEquals(List.of("A"), pruner.winningDexes(INPUT_MINT, OUTPUT_MINT, BigInteger.valueOf(1_000)));
+
+    pruner = JupiterDexPruner.createPruner(unusedClient(), 4, 1_000, 8, 1, 1);
+    recordQuotes(pruner, "A", 6);
+    recordQuotes(pruner, "B", 3);
+    recordQuotes(pruner, "C", 1);
+    assertEquals(List.of("A", "B", "C"), pruner.winningDexes(INPUT_MINT, OUTPUT_MINT, BigInteger.valueOf(1_000)));
+
+    // Different size buckets learn independently.
+    assertEquals(List.of(), pruner.winningDexes(INPUT_MINT, OUTPUT_MINT, BigInteger.valueOf(1_000_000)));
+  }
+
+  @Test
+  void doesNotPruneWhileLearning() {
+    final var pruner = JupiterDexPruner.createPruner(unusedClient(), 4, 1_000, 8, 1, 1);
+    recordQuotes(pruner, "A", 3);
+    assertSame(REQUEST, pruner.prune(REQUEST));
+    recordQuotes(pruner, "A", 1);
+    assertNotSame(REQUEST, pruner.prune(REQUEST));
+  }
+
+  @Test
+  void probeDetectsDrift() {
+    final var client = quoteClient(quoteRequest -> CompletableFuture.completedFuture(
+        quoteRequest.dexes().isEmpty() ? quote("B") : quote("A")
+    ));
+    final var pruner = JupiterDexPruner.createPruner(client, 2, 2, 8, 1, 1);
+    recordQuotes(pruner, "A", 2);
+
+    assertEquals("A", pruner.getQuote(REQUEST).join().routePlan().getFirst().label());
+    var stats = pruner.stats();
+    assertEquals(1, stats.prunedQuotes());
+    assertEquals(0, stats.probes());
+    assertEquals(0, stats.driftsDetected());
+
+    assertEquals("B", pruner.getQuote(REQUEST).join().routePlan().getFirst().label());
+    stats = pruner.stats();
+    assertEquals(1, stats.probes());
+    assertEquals(1, stats.unrestrictedQuotes());
+    assertEquals(1, stats.driftsDetected());
+    assertEquals(List.of("A", "B"), pruner.winningDexes(INPUT_MINT, OUTPUT_MINT, BigInteger.valueOf(1_000)));
+  }
+
+  @Test
+  void fallsBackToUnrestrictedWhenPrunedQuoteFails() {
+    final var client = quoteClient(quoteRequest -> quoteRequest.dexes().isEmpty()
+        ? CompletableFuture.completedFuture(quote("B"))
+        : CompletableFuture.failedFuture(new IllegalStateException("No routes found")));
+    final var pruner = JupiterDexPruner.createPruner(client, 2, 1_000, 8, 1, 1);
+    recordQuotes(pruner, "A", 2);
+
+    assertEquals("B", pruner.getQuote(REQUEST).join().routePlan().getFirst().label());
+    final var stats = pruner.stats();
+    assertEquals(1, stats.prunedFallbacks());
+    assertEquals(0, stats.prunedQuotes());
+    assertEquals(1, stats.unrestrictedQuotes());
+    assertEquals(0, stats.failedQuotes());
+  }
+}
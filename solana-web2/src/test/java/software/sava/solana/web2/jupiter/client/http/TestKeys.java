@@ -0,0 +1,17 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import software.sava.core.accounts.PublicKey;
+
+import java.util.Random;
+
+public final class TestKeys {
+
+  public static PublicKey randomKey(final Random random) {
+    final byte[] key = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    random.nextBytes(key);
+    return PublicKey.createPubKey(key);
+  }
+
+  private TestKeys() {
+  }
+}
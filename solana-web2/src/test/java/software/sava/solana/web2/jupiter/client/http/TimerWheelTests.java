@@ -0,0 +1,97 @@
+package software.sava.solana.web2.jupiter.client.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+final class TimerWheelTests {
+
+  private static final long TICK_NANOS = MILLISECONDS.toNanos(1);
+
+  private ScheduledExecutorService scheduler;
+  private TimerWheel timerWheel;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    timerWheel = new TimerWheel(scheduler, Duration.ofNanos(TICK_NANOS), 16);
+  }
+
+  @AfterEach
+  void tearDown() {
+    timerWheel.close();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void rejectsNonPowerOfTwoWheels() {
+    assertThrows(IllegalArgumentException.class, () -> new TimerWheel(scheduler, Duration.ofMillis(1), 12));
+  }
+
+  @Test
+  void firesNoEarlierThanTheDeadline() throws InterruptedException {
+    final var latch = new CountDownLatch(3);
+    final var early = new AtomicInteger();
+    final long now = System.nanoTime();
+    // The second and third deadlines are beyond one revolution of the 16 tick wheel.
+    for (final long delay : new long[]{MILLISECONDS.toNanos(5), MILLISECONDS.toNanos(40), MILLISECONDS.toNanos(75)}) {
+      final long deadline = now + delay;
+      timerWheel.schedule(() -> {
+        if (System.nanoTime() < deadline) {
+          early.incrementAndGet();
+        }
+        latch.countDown();
+      }, deadline);
+    }
+    assertTrue(latch.await(5, SECONDS));
+    assertEquals(0, early.get());
+  }
+
+  @Test
+  void firesPastDeadlinesOnTheNextTick() throws InterruptedException {
+    final var latch = new CountDownLatch(1);
+    timerWheel.schedule(latch::countDown, System.nanoTime() - SECONDS.toNanos(1));
+    assertTrue(latch.await(5, SECONDS));
+  }
+
+  @Test
+  void cancelledTimeoutsDoNotFire() throws InterruptedException {
+    final var fired = new AtomicInteger();
+    final long deadline = System.nanoTime() + MILLISECONDS.toNanos(20);
+    final var timeout = timerWheel.schedule(fired::incrementAndGet, deadline);
+    timeout.cancel();
+    assertTrue(timeout.isCancelled());
+
+    final var latch = new CountDownLatch(1);
+    timerWheel.schedule(latch::countDown, deadline + MILLISECONDS.toNanos(20));
+    assertTrue(latch.await(5, SECONDS));
+    assertEquals(0, fired.get());
+  }
+
+  @Test
+  void failingTasksDoNotStopTheWheel() throws InterruptedException {
+    final var latch = new CountDownLatch(1);
+    final var firedAt = new AtomicLong();
+    final long now = System.nanoTime();
+    timerWheel.schedule(() -> {
+      throw new IllegalStateException("expected");
+    }, now + MILLISECONDS.toNanos(2));
+    timerWheel.schedule(() -> {
+      firedAt.set(System.nanoTime());
+      latch.countDown();
+    }, now + MILLISECONDS.toNanos(10));
+    assertTrue(latch.await(5, SECONDS));
+    assertTrue(firedAt.get() >= now + MILLISECONDS.toNanos(10));
+  }
+}
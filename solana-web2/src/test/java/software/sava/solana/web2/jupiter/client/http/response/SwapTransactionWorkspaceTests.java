@@ -0,0 +1,101 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+import software.sava.core.accounts.meta.AccountMeta;
+import software.sava.core.tx.Instruction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.solana.web2.jupiter.client.http.TestKeys.randomKey;
+
+final class SwapTransactionWorkspaceTests {
+
+  private static Instruction randomInstruction(final Random random,
+                                               final PublicKey programId,
+                                               final PublicKey feePayer,
+                                               final List<PublicKey> sharedKeys) {
+    final var accounts = new ArrayList<AccountMeta>();
+    accounts.add(AccountMeta.createWritableSigner(feePayer));
+    final int numAccounts = 1 + random.nextInt(6);
+    for (int i = 0; i < numAccounts; ++i) {
+      final var key = random.nextBoolean()
+          ? sharedKeys.get(random.nextInt(sharedKeys.size()))
+          : randomKey(random);
+      accounts.add(random.nextBoolean() ? AccountMeta.createWrite(key) : AccountMeta.createRead(key));
+    }
+    final byte[] data = new byte[random.nextInt(200)];
+    random.nextBytes(data);
+    return Instruction.createInstruction(programId, accounts, data);
+  }
+
+  private static JupiterSwapInstructions randomSwap(final Random random, final int numSetupInstructions) {
+    final var feePayer = randomKey(random);
+    final var programs = List.of(randomKey(random), randomKey(random), randomKey(random));
+    final var sharedKeys = new ArrayList<PublicKey>();
+    for (int i = 0; i < 8; ++i) {
+      sharedKeys.add(randomKey(random));
+    }
+
+    final var computeBudgetInstructions = List.of(
+        randomInstruction(random, programs.getFirst(), feePayer, sharedKeys),
+        randomInstruction(random, programs.getFirst(), feePayer, sharedKeys)
+    );
+    final var setupInstructions = new ArrayList<Instruction>(numSetupInstructions);
+    for (int i = 0; i < numSetupInstructions; ++i) {
+      setupInstructions.add(randomInstruction(random, programs.get(1), feePayer, sharedKeys));
+    }
+    final var swapInstruction = randomInstruction(random, programs.getLast(), feePayer, sharedKeys);
+    final var cleanupInstruction = random.nextBoolean()
+        ? randomInstruction(random, programs.get(1), feePayer, sharedKeys)
+        : null;
+    return new JupiterSwapInstructions(
+        null,
+        computeBudgetInstructions,
+        setupInstructions,
+        swapInstruction,
+        cleanupInstruction,
+        List.of(),
+        List.of(),
+        0
+    );
+  }
+
+  @Test
+  void matchesSerializeTransactionAcrossSizes() {
+    final var random = new Random(23);
+    final var workspace = SwapTransactionWorkspace.createWorkspace();
+    final byte[] buffer = new byte[4_096];
+    for (final int numSetupInstructions : new int[]{1, 6, 2, 14, 1, 20, 3}) {
+      final var swapInstructions = randomSwap(random, numSetupInstructions);
+      final byte[] expected = swapInstructions.serializeTransaction().serialized();
+
+      assertArrayEquals(expected, workspace.serialize(swapInstructions));
+
+      final int offset = random.nextInt(64);
+      final int written = workspace.write(swapInstructions, buffer, offset);
+      assertEquals(expected.length, written);
+      assertArrayEquals(expected, Arrays.copyOfRange(buffer, offset, offset + written));
+    }
+  }
+
+  @Test
+  void rejectsUndersizedBuffer() {
+    final var random = new Random(29);
+    final var workspace = SwapTransactionWorkspace.createWorkspace();
+    final var swapInstructions = randomSwap(random, 4);
+    final int length = workspace.serialize(swapInstructions).length;
+
+    final byte[] buffer = new byte[length + 8];
+    Arrays.fill(buffer, (byte) 0x5A);
+    assertThrows(IndexOutOfBoundsException.class, () -> workspace.write(swapInstructions, buffer, 9));
+    for (final byte b : buffer) {
+      assertEquals((byte) 0x5A, b);
+    }
+    assertEquals(length, workspace.write(swapInstructions, buffer, 8));
+  }
+}
@@ -0,0 +1,99 @@
+package software.sava.solana.web2.jupiter.client.http.response;
+
+import org.junit.jupiter.api.Test;
+import software.sava.core.accounts.PublicKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static software.sava.solana.web2.jupiter.client.http.TestKeys.randomKey;
+
+final class TradableMintSetTests {
+
+  private static void assertSorted(final TradableMintSet mintSet) {
+    final byte[] previous = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    final byte[] current = new byte[PublicKey.PUBLIC_KEY_LENGTH];
+    for (int i = 0; i < mintSet.size(); ++i) {
+      mintSet.get(i).write(current, 0);
+      if (i > 0) {
+        assertTrue(Arrays.compareUnsigned(previous, current) < 0, "Mints are not strictly ascending at " + i);
+      }
+      System.arraycopy(current, 0, previous, 0, current.length);
+    }
+  }
+
+  @Test
+  void sortsAndDeduplicates() {
+    final var random = new Random(7);
+    final var mints = new ArrayList<PublicKey>();
+    for (int i = 0; i < 5_000; ++i) {
+      mints.add(randomKey(random));
+    }
+    final var withDuplicates = new ArrayList<>(mints);
+    withDuplicates.addAll(mints.subList(0, 1_000));
+    withDuplicates.addAll(mints.subList(2_500, 2_600));
+
+    final var mintSet = TradableMintSet.createSet(withDuplicates);
+    assertEquals(mints.size(), mintSet.size());
+    assertSorted(mintSet);
+    for (final var mint : mints) {
+      assertTrue(mintSet.contains(mint));
+    }
+    for (int i = 0; i < 100; ++i) {
+      assertFalse(mintSet.contains(randomKey(random)));
+    }
+  }
+
+  @Test
+  void sortsSmallAndDegenerateInputs() {
+    assertEquals(0, TradableMintSet.createSet(List.of()).size());
+
+    final var random = new Random(11);
+    final var mint = randomKey(random);
+    final var single = TradableMintSet.createSet(List.of(mint, mint, mint));
+    assertEquals(1, single.size());
+    assertEquals(mint, single.get(0));
+
+    final var mints = new ArrayList<PublicKey>();
+    for (int i = 0; i < 10; ++i) {
+      mints.add(randomKey(random));
+    }
+    final var small = TradableMintSet.createSet(mints);
+    assertEquals(mints.size(), small.size());
+    assertSorted(small);
+  }
+
+  @Test
+  void sortsPresortedAndReversedInputs() {
+    final var random = new Random(13);
+    final var mints = new ArrayList<PublicKey>();
+    for (int i = 0; i < 2_048; ++i) {
+      mints.add(randomKey(random));
+    }
+    final var sorted = TradableMintSet.createSet(mints);
+    final var ascending = new ArrayList<PublicKey>(sorted.size());
+    for (int i = 0; i < sorted.size(); ++i) {
+      ascending.add(sorted.get(i));
+    }
+    assertSorted(TradableMintSet.createSet(ascending));
+    assertSorted(TradableMintSet.createSet(ascending.reversed()));
+  }
+
+  @Test
+  void base58AndKeyFactoriesAgree() {
+    final var random = new Random(17);
+    final var mints = new ArrayList<PublicKey>();
+    for (int i = 0; i < 300; ++i) {
+      mints.add(randomKey(random));
+    }
+    final var fromKeys = TradableMintSet.createSet(mints);
+    final var fromBase58 = TradableMintSet.createSet(mints.stream().map(PublicKey::toBase58).toArray(String[]::new));
+    assertEquals(fromKeys.size(), fromBase58.size());
+    for (int i = 0; i < fromKeys.size(); ++i) {
+      assertEquals(fromKeys.get(i), fromBase58.get(i));
+    }
+  }
+}